@@ -0,0 +1,400 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Command-line converter between geometry files, reporting throughput and per-record latency:
+ * <pre>
+ * java -jar sinergise-test.jar [--from wkt|wkb|geojson] [--to wkt|wkb|geojson] [--threads N]
+ *     [--chunk-size N] [--precision N] input output
+ * </pre>
+ * WKT and GeoJSON files hold one geometry per line; WKB files hold every geometry prefixed with
+ * its length as a little-endian 32-bit integer. Records are read in chunks, converted on a pool
+ * of threads and written in input order. The precision is the number of decimal places of WKT
+ * and GeoJSON output; without it, coordinates are written at full precision, with as many digits
+ * as it takes to read back the same values.
+ * <p>
+ * Every record is parsed into a geometry, so invalid records fail the conversion. GeoJSON records
+ * are parsed from the WKT text they are transcoded to. Without a precision, WKT and GeoJSON
+ * records converted to their own format are copied unchanged once parsed.
+ */
+public final class BulkConverter {
+
+  private static final int DEFAULT_CHUNK_SIZE = 1000;
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final double NANOS_PER_SECOND = 1e9;
+  private static final double NANOS_PER_MICRO = 1e3;
+  private static final double BYTES_PER_MB = 1024 * 1024;
+
+  private static final String USAGE = "Usage: BulkConverter [--from wkt|wkb|geojson]"
+      + " [--to wkt|wkb|geojson] [--threads N] [--chunk-size N] [--precision N] input output"
+      + System.lineSeparator()
+      + "Without --precision, WKT and GeoJSON coordinates are written at full precision.";
+
+  /**
+   * File formats, each one geometry per record.
+   */
+  enum Format {
+    WKT,
+    WKB,
+    GEOJSON
+  }
+
+  private final Format from;
+  private final Format to;
+  private final int threads;
+  private final int chunkSize;
+  private final Integer precision;
+  private final LatencyHistogram latencies = new LatencyHistogram();
+
+  BulkConverter(Format from, Format to, int threads, int chunkSize, Integer precision) {
+    if (threads < 1 || chunkSize < 1) {
+      throw new IllegalArgumentException(String.format(
+          "Thread count and chunk size must be positive. Got: %d, %d", threads, chunkSize));
+    }
+    if (precision != null && precision < 0) {
+      throw new IllegalArgumentException("Precision must not be negative. Got: " + precision);
+    }
+    this.from = from;
+    this.to = to;
+    this.threads = threads;
+    this.chunkSize = chunkSize;
+    this.precision = precision;
+  }
+
+  public static void main(String[] args) {
+    System.exit(run(args, System.out, System.err));
+  }
+
+  /**
+   * Runs the converter with the command-line arguments and returns the exit status.
+   */
+  static int run(String[] args, PrintStream out, PrintStream err) {
+    Format from = Format.WKT;
+    Format to = Format.WKT;
+    int threads = Runtime.getRuntime().availableProcessors();
+    int chunkSize = DEFAULT_CHUNK_SIZE;
+    Integer precision = null;
+    List<String> files = new ArrayList<>();
+
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "--from" -> from = parseFormat(value(args, ++i));
+          case "--to" -> to = parseFormat(value(args, ++i));
+          case "--threads" -> threads = Integer.parseInt(value(args, ++i));
+          case "--chunk-size" -> chunkSize = Integer.parseInt(value(args, ++i));
+          case "--precision" -> precision = Integer.parseInt(value(args, ++i));
+          default -> {
+            if (args[i].startsWith("--")) {
+              throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            files.add(args[i]);
+          }
+        }
+      }
+      if (files.size() != 2) {
+        throw new IllegalArgumentException("Expected an input and an output file.");
+      }
+
+      BulkConverter converter = new BulkConverter(from, to, threads, chunkSize, precision);
+      converter.convert(Path.of(files.get(0)), Path.of(files.get(1))).print(out);
+      return 0;
+    } catch (IllegalArgumentException e) {
+      err.println(e.getMessage());
+      err.println(USAGE);
+      return 2;
+    } catch (IOException | ConversionException e) {
+      err.println("Conversion failed: " + e.getMessage());
+      return 1;
+    }
+  }
+
+  /**
+   * Converts every record of the input file and writes it to the output file.
+   */
+  Report convert(Path input, Path output) throws IOException {
+    long gcTimeBefore = gcTime();
+    long start = System.nanoTime();
+    long recordCount = 0;
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try (CountingInputStream inputStream = new CountingInputStream(
+        new BufferedInputStream(Files.newInputStream(input), BUFFER_SIZE));
+        OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(output),
+            BUFFER_SIZE)) {
+      RecordInput records = new RecordInput(inputStream, Files.size(input));
+      Queue<Future<List<Object>>> pending = new ArrayDeque<>();
+
+      Chunk chunk;
+      while (!(chunk = records.readChunk()).records().isEmpty()) {
+        Chunk submitted = chunk;
+        long firstIndex = recordCount;
+        pending.add(executor.submit(() -> convertChunk(submitted, firstIndex)));
+        recordCount += chunk.records().size();
+        if (pending.size() >= 2 * threads) {
+          writeChunk(await(pending.poll()), outputStream);
+        }
+      }
+      while (!pending.isEmpty()) {
+        writeChunk(await(pending.poll()), outputStream);
+      }
+
+      return new Report(recordCount, inputStream.count, System.nanoTime() - start,
+          gcTime() - gcTimeBefore, latencies.getValueAtPercentile(50),
+          latencies.getValueAtPercentile(99));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Converts the records of a chunk with readers and writers of its own, recording the latency of
+   * every record. The index of the first record counts from 0.
+   */
+  private List<Object> convertChunk(Chunk chunk, long firstIndex) {
+    List<Object> records = chunk.records();
+    WKTReader wktReader = new WKTReader();
+    int outputPrecision = precision == null ? WKTWriter.FULL_PRECISION : precision;
+    WKTWriter wktWriter = new WKTWriter(outputPrecision);
+    GeoJSONWriter geoJSONWriter = new GeoJSONWriter(outputPrecision);
+    WKBReader wkbReader = new WKBReader();
+    WKBWriter wkbWriter = new WKBWriter();
+    boolean copy = from == to && from != Format.WKB && precision == null;
+
+    List<Object> converted = new ArrayList<>(records.size());
+    for (int i = 0; i < records.size(); i++) {
+      long start = System.nanoTime();
+      try {
+        Object record = records.get(i);
+        Geometry geometry = switch (from) {
+          case WKT -> wktReader.read((String) record);
+          case WKB -> wkbReader.read((byte[]) record);
+          case GEOJSON -> wktReader.read(GeoJSONTranscoder.toWKT((String) record));
+        };
+        converted.add(copy ? record : switch (to) {
+          case WKT -> wktWriter.write(geometry);
+          case WKB -> wkbWriter.write(geometry);
+          case GEOJSON -> geoJSONWriter.write(geometry);
+        });
+      } catch (RuntimeException e) {
+        throw new ConversionException(
+            location(chunk, firstIndex, i) + ": " + e.getMessage(), e);
+      }
+      latencies.record(System.nanoTime() - start);
+    }
+    return converted;
+  }
+
+  /**
+   * Describes where a record is in the input: its line, or its number and byte offset in WKB.
+   */
+  private String location(Chunk chunk, long firstIndex, int i) {
+    return from == Format.WKB
+        ? String.format("WKB record %d at byte %d", firstIndex + i + 1, chunk.locations()[i])
+        : "Line " + chunk.locations()[i];
+  }
+
+  private void writeChunk(List<Object> records, OutputStream output) throws IOException {
+    for (Object record : records) {
+      if (to == Format.WKB) {
+        byte[] wkb = (byte[]) record;
+        int length = wkb.length;
+        output.write(length);
+        output.write(length >>> 8);
+        output.write(length >>> 16);
+        output.write(length >>> 24);
+        output.write(wkb);
+      } else {
+        output.write(((String) record).getBytes(StandardCharsets.UTF_8));
+        output.write('\n');
+      }
+    }
+  }
+
+  private static List<Object> await(Future<List<Object>> chunk) throws IOException {
+    try {
+      return chunk.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while converting.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ConversionException conversionException) {
+        throw conversionException;
+      }
+      throw new ConversionException(e.getCause().getMessage(), e.getCause());
+    }
+  }
+
+  private static long gcTime() {
+    long time = 0;
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      time += Math.max(0, collector.getCollectionTime());
+    }
+    return time;
+  }
+
+  private static Format parseFormat(String name) {
+    try {
+      return Format.valueOf(name.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown format: " + name);
+    }
+  }
+
+  private static String value(String[] args, int i) {
+    if (i >= args.length) {
+      throw new IllegalArgumentException("Missing value of option " + args[i - 1]);
+    }
+    return args[i];
+  }
+
+  /**
+   * Results of a conversion. Durations are in nanoseconds, except the GC time in milliseconds as
+   * reported by the garbage collector beans.
+   */
+  record Report(long records, long bytesRead, long elapsedNanos, long gcMillis, long p50Nanos,
+      long p99Nanos) {
+
+    void print(PrintStream out) {
+      double seconds = elapsedNanos / NANOS_PER_SECOND;
+      out.printf(Locale.ROOT, "records:    %d%n", records);
+      out.printf(Locale.ROOT, "time:       %.3f s%n", seconds);
+      out.printf(Locale.ROOT, "throughput: %.0f records/s, %.2f MB/s%n", records / seconds,
+          bytesRead / BYTES_PER_MB / seconds);
+      out.printf(Locale.ROOT, "GC time:    %d ms%n", gcMillis);
+      out.printf(Locale.ROOT, "latency:    p50 %.1f us, p99 %.1f us%n",
+          p50Nanos / NANOS_PER_MICRO, p99Nanos / NANOS_PER_MICRO);
+    }
+  }
+
+  /**
+   * Raw records with their locations in the input: 1-based line numbers of text records, byte
+   * offsets of WKB records.
+   */
+  private record Chunk(List<Object> records, long[] locations) {
+  }
+
+  /**
+   * Reads raw records: lines of text, or length-prefixed WKB.
+   */
+  private final class RecordInput {
+
+    private final CountingInputStream input;
+    private final long size;
+    private final BufferedReader lines;
+    private final DataInputStream data;
+    private long recordCount;
+    private long lineNumber;
+    private long location;
+
+    private RecordInput(CountingInputStream input, long size) {
+      this.input = input;
+      this.size = size;
+      this.lines = from == Format.WKB ? null
+          : new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+      this.data = from == Format.WKB ? new DataInputStream(input) : null;
+    }
+
+    private Chunk readChunk() throws IOException {
+      List<Object> records = new ArrayList<>(chunkSize);
+      long[] locations = new long[chunkSize];
+      Object record;
+      while (records.size() < chunkSize && (record = readRecord()) != null) {
+        locations[records.size()] = location;
+        records.add(record);
+      }
+      return new Chunk(records, locations);
+    }
+
+    private Object readRecord() throws IOException {
+      if (lines != null) {
+        String line;
+        while ((line = lines.readLine()) != null) {
+          location = ++lineNumber;
+          if (!line.isBlank()) {
+            return line;
+          }
+        }
+        return null;
+      }
+
+      location = input.count;
+      int firstByte = data.read();
+      if (firstByte < 0) {
+        return null;
+      }
+      recordCount++;
+      int length = firstByte | data.readUnsignedByte() << 8 | data.readUnsignedByte() << 16
+          | data.readUnsignedByte() << 24;
+      // A corrupt length prefix must not allocate more than the file can hold.
+      long remaining = size - input.count;
+      if (length < 0 || length > remaining) {
+        throw new IOException(String.format(
+            "WKB record %d at byte %d is %d bytes long, more than the remaining %d bytes.",
+            recordCount, location, Integer.toUnsignedLong(length), remaining));
+      }
+      byte[] wkb = new byte[length];
+      data.readFully(wkb);
+      return wkb;
+    }
+  }
+
+  private static final class CountingInputStream extends FilterInputStream {
+
+    private long count;
+
+    private CountingInputStream(InputStream input) {
+      super(input);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int value = super.read();
+      if (value >= 0) {
+        count++;
+      }
+      return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      int read = super.read(buffer, offset, length);
+      if (read > 0) {
+        count += read;
+      }
+      return read;
+    }
+  }
+
+  private static final class ConversionException extends RuntimeException {
+
+    private ConversionException(String message, Throwable cause) {
+      super(message, cause);
+    }
+  }
+}
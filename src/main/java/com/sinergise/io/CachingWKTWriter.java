@@ -0,0 +1,46 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * WKTWriter that remembers the WKT of every written Geometry in a {@link WKTWriteCache}. Writing
+ * the same (immutable) Geometry instance again returns the cached WKT without re-encoding it.
+ */
+public class CachingWKTWriter extends WKTWriter {
+
+  private final WKTWriteCache cache;
+
+  public CachingWKTWriter(final WKTWriteCache cache) {
+    this.cache = cache;
+  }
+
+  public CachingWKTWriter(final WKTWriteCache cache, final int precision) {
+    super(precision);
+    this.cache = cache;
+  }
+
+  @Override
+  public String write(final Geometry geometry) {
+    String wkt = cache.get(geometry, getOutputSettings());
+    if (wkt == null) {
+      wkt = super.write(geometry);
+      cache.put(geometry, getOutputSettings(), wkt);
+    }
+    return wkt;
+  }
+
+  /**
+   * Writes the WKT of the input Geometry object to the given output. A cached geometry is copied
+   * to the output with a single write call.
+   */
+  @Override
+  public void write(final Geometry geometry, final Writer output) {
+    try {
+      output.write(write(geometry));
+    } catch (IOException e) {
+      throw new WKTWriteException("IOException occurred during WKT write.", e);
+    }
+  }
+}
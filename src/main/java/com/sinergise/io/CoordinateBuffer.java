@@ -0,0 +1,141 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.LineString;
+import com.sinergise.geometry.Point;
+import java.util.Arrays;
+
+/**
+ * Growable buffer of interleaved coordinates with 2 to 4 ordinates each, reused by the parser for
+ * every coordinate sequence it reads. The stride is set by the first coordinate added after
+ * {@link #clear()}. Coordinates are added as parsed and processed in one pass by
+ * {@link #finish}, once the sequence is complete.
+ */
+final class CoordinateBuffer {
+
+  private static final int INITIAL_CAPACITY = 32;
+
+  private double[] coordinates = new double[INITIAL_CAPACITY];
+  private int size;
+  private int stride = 2;
+
+  void clear() {
+    size = 0;
+  }
+
+  /**
+   * Appends the first {@code stride} ordinates of the coordinate.
+   */
+  void add(double[] coordinate, int stride) {
+    if (size == 0) {
+      this.stride = stride;
+    }
+
+    if (size + stride > coordinates.length) {
+      coordinates = Arrays.copyOf(coordinates, 2 * coordinates.length);
+    }
+    System.arraycopy(coordinate, 0, coordinates, size, stride);
+    size += stride;
+  }
+
+  /**
+   * Applies the transform and the precision model, either of which may be {@code null}, to the
+   * buffered coordinates. Then drops coordinates equal to their predecessor if
+   * {@code removeRepeated} is set, and grows the envelope, if not {@code null}, by the remaining
+   * ones.
+   */
+  void finish(CoordinateTransform transform, PrecisionModel precisionModel,
+      boolean removeRepeated, MutableEnvelope envelope) {
+    if (size == 0) {
+      return;
+    }
+    if (transform != null) {
+      transform.transform(coordinates, 0, stride, size / stride);
+    }
+
+    int kept = 0;
+    for (int source = 0; source < size; source += stride) {
+      if (precisionModel != null) {
+        coordinates[source] = precisionModel.makePreciseX(coordinates[source]);
+        coordinates[source + 1] = precisionModel.makePreciseY(coordinates[source + 1]);
+      }
+      if (removeRepeated && kept > 0 && equalsPrevious(source, kept)) {
+        continue;
+      }
+
+      if (kept != source) {
+        System.arraycopy(coordinates, source, coordinates, kept, stride);
+      }
+      if (envelope != null) {
+        envelope.include(coordinates[kept], coordinates[kept + 1]);
+      }
+      kept += stride;
+    }
+    size = kept;
+  }
+
+  private boolean equalsPrevious(int source, int kept) {
+    for (int i = 0; i < stride; i++) {
+      if (coordinates[kept - stride + i] != coordinates[source + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  int getCoordinateCount() {
+    return size / stride;
+  }
+
+  /**
+   * Fails if fewer than {@code minimumCount} coordinates remain after {@link #finish}, unless fewer
+   * than that were added, i.e. if removing repeated points collapsed a line string (minimum 2) or
+   * a ring (minimum 4).
+   */
+  void checkNotCollapsed(int addedCount, int minimumCount) {
+    if (getCoordinateCount() < Math.min(addedCount, minimumCount)) {
+      throw new WKTParseException(String.format(
+          "Invalid WKT string. A %s of %d coordinates collapsed to %d after removing repeated "
+              + "points.", minimumCount > 2 ? "ring" : "line string", addedCount,
+          getCoordinateCount()));
+    }
+  }
+
+  /**
+   * Creates a point of the first buffered coordinate with the given dimension.
+   */
+  Point toPoint(Dimension dimension) {
+    if (dimension == Dimension.XY) {
+      return new Point(coordinates[0], coordinates[1]);
+    }
+    return new PointZM(dimension, coordinates[0], coordinates[1], coordinates[2],
+        coordinates[dimension.getStride() - 1]);
+  }
+
+  /**
+   * Creates a line string of the buffered coordinates with the given dimension.
+   */
+  LineString toLineString(Dimension dimension) {
+    if (dimension == Dimension.XY) {
+      return new LineString(toArray(0, 2));
+    }
+    return new LineStringZM(dimension, toArray(0, 2), toArray(2, dimension.getStride() - 2));
+  }
+
+  /**
+   * Returns {@code count} ordinates of every buffered coordinate, starting with ordinate
+   * {@code from}, in an array of exactly their length.
+   */
+  double[] toArray(int from, int count) {
+    if (from == 0 && count == stride) {
+      return Arrays.copyOf(coordinates, size);
+    }
+
+    double[] ordinates = new double[size / stride * count];
+    for (int source = from, target = 0; target < ordinates.length; source += stride) {
+      for (int i = 0; i < count; i++) {
+        ordinates[target++] = coordinates[source + i];
+      }
+    }
+    return ordinates;
+  }
+}
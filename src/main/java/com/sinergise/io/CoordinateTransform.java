@@ -0,0 +1,17 @@
+package com.sinergise.io;
+
+/**
+ * Transformation of coordinates in place, e.g. a reprojection, applied by {@link WKTParser} and
+ * {@link WKTWriter} to whole coordinate sequences at a time rather than to single points.
+ * Implementations transform X and Y only; Z and M ordinates are left untouched.
+ */
+@FunctionalInterface
+public interface CoordinateTransform {
+
+  /**
+   * Transforms {@code count} coordinates stored in the array. The X ordinate of the first
+   * coordinate is at {@code offset} and its Y ordinate right after it; every following coordinate
+   * starts {@code stride} elements after the previous one.
+   */
+  void transform(double[] coordinates, int offset, int stride, int count);
+}
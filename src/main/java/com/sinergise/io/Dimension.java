@@ -0,0 +1,98 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+import com.sinergise.geometry.GeometryCollection;
+import com.sinergise.geometry.LineString;
+import com.sinergise.geometry.Polygon;
+
+/**
+ * Coordinate dimension of a geometry: the ordinates stored per vertex, in the order they are
+ * written in WKT.
+ */
+public enum Dimension {
+  XY(false, false, ""),
+  XYZ(true, false, "Z"),
+  XYM(false, true, "M"),
+  XYZM(true, true, "ZM");
+
+  private final boolean hasZ;
+  private final boolean hasM;
+  private final String WKTTag;
+
+  Dimension(boolean hasZ, boolean hasM, String WKTTag) {
+    this.hasZ = hasZ;
+    this.hasM = hasM;
+    this.WKTTag = WKTTag;
+  }
+
+  public static Dimension of(boolean hasZ, boolean hasM) {
+    if (hasZ) {
+      return hasM ? XYZM : XYZ;
+    }
+    return hasM ? XYM : XY;
+  }
+
+  /**
+   * Returns the dimension of the geometry. Polygons and collections have the ordinates that all
+   * their non-empty rings or members have.
+   */
+  static Dimension of(Geometry geometry) {
+    if (geometry instanceof PointZM point) {
+      return point.getDimension();
+    }
+    if (geometry instanceof LineStringZM lineString) {
+      return lineString.getDimension();
+    }
+
+    if (geometry instanceof Polygon polygon) {
+      Dimension dimension = of(polygon.getOuter());
+      for (int i = 0; i < polygon.getNumHoles() && dimension != XY; i++) {
+        LineString hole = polygon.getHole(i);
+        if (!hole.isEmpty()) {
+          dimension = dimension.common(of(hole));
+        }
+      }
+      return dimension;
+    }
+
+    if (geometry instanceof GeometryCollection<?> collection) {
+      Dimension dimension = null;
+      for (int i = 0; i < collection.size() && dimension != XY; i++) {
+        Geometry member = collection.get(i);
+        if (!member.isEmpty()) {
+          dimension = dimension == null ? of(member) : dimension.common(of(member));
+        }
+      }
+      return dimension == null ? XY : dimension;
+    }
+
+    return XY;
+  }
+
+  /**
+   * Returns the number of ordinates per vertex.
+   */
+  public int getStride() {
+    return 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+  }
+
+  public boolean hasZ() {
+    return hasZ;
+  }
+
+  public boolean hasM() {
+    return hasM;
+  }
+
+  /**
+   * Returns the WKT dimension tag following the geometry type, e.g. {@code ZM}, or an empty string
+   * for two-dimensional geometries.
+   */
+  public String getWKTTag() {
+    return WKTTag;
+  }
+
+  private Dimension common(Dimension other) {
+    return of(hasZ && other.hasZ, hasM && other.hasM);
+  }
+}
@@ -0,0 +1,24 @@
+package com.sinergise.io;
+
+/**
+ * Axis-aligned rectangle, e.g. the bounding box of a geometry or a query window. Edges are
+ * inclusive.
+ */
+public record Envelope(double minX, double minY, double maxX, double maxY) {
+
+  public Envelope {
+    if (!(minX <= maxX) || !(minY <= maxY)) {
+      throw new IllegalArgumentException(String.format(
+          "Invalid envelope. Minimum (%s %s) exceeds maximum (%s %s).", minX, minY, maxX, maxY));
+    }
+  }
+
+  public boolean intersects(Envelope other) {
+    return intersects(other.minX, other.minY, other.maxX, other.maxY);
+  }
+
+  public boolean intersects(double otherMinX, double otherMinY, double otherMaxX,
+      double otherMaxY) {
+    return otherMinX <= maxX && otherMaxX >= minX && otherMinY <= maxY && otherMaxY >= minY;
+  }
+}
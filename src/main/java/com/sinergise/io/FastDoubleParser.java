@@ -0,0 +1,61 @@
+package com.sinergise.io;
+
+/**
+ * Parses WKT numbers ({@code -?\d+(\.\d+)?}) directly from characters. Numbers with up to 15
+ * significant digits and 22 decimal places, which covers almost all coordinates, are converted
+ * with a single exact division; the result is correctly rounded and equal to
+ * {@link Double#parseDouble(String)}. Other numbers fall back to {@link Double#parseDouble}.
+ */
+final class FastDoubleParser {
+
+  private static final int MAX_EXACT_DIGITS = 15;
+
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private FastDoubleParser() {
+  }
+
+  /**
+   * Parses the number held by the characters from {@code start} (inclusive) to {@code end}
+   * (exclusive).
+   */
+  static double parse(CharSequence text, int start, int end) {
+    boolean negative = text.charAt(start) == '-';
+    long mantissa = 0;
+    int significantDigits = 0;
+    int fractionDigits = 0;
+    boolean fraction = false;
+
+    for (int i = negative ? start + 1 : start; i < end; i++) {
+      char character = text.charAt(i);
+      if (character == '.') {
+        fraction = true;
+        continue;
+      }
+      if (character < '0' || character > '9') {
+        throw new NumberFormatException(
+            "Invalid number: " + text.subSequence(start, end));
+      }
+
+      if (significantDigits > 0 || character != '0') {
+        if (++significantDigits > MAX_EXACT_DIGITS) {
+          return Double.parseDouble(text.subSequence(start, end).toString());
+        }
+      }
+      mantissa = 10 * mantissa + (character - '0');
+      if (fraction) {
+        fractionDigits++;
+      }
+    }
+
+    if (fractionDigits >= POWERS_OF_TEN.length) {
+      return Double.parseDouble(text.subSequence(start, end).toString());
+    }
+
+    double value = mantissa / POWERS_OF_TEN[fractionDigits];
+    return negative ? -value : value;
+  }
+}
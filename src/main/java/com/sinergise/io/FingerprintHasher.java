@@ -0,0 +1,84 @@
+package com.sinergise.io;
+
+/**
+ * Streaming 128-bit hash computing {@link GeometryFingerprint}s, fed one canonical element at a
+ * time: a keyword, a number or a structural character. Every element is reduced to a 64-bit word
+ * and mixed into two lanes in the manner of MurmurHash3. Numbers contribute the bits of their
+ * value; keywords and structural characters are mapped into the NaN range, which parsed numbers
+ * never occupy, so the two kinds cannot collide.
+ */
+final class FingerprintHasher {
+
+  private static final long C1 = 0x87c37b91114253d5L;
+  private static final long C2 = 0x4cf5ad432745937fL;
+
+  private static final long SYMBOL_BASE = 0x7ff8_0000_0000_0000L;
+  private static final long WORD_BASE = 0x7ff9_0000_0000_0000L;
+  private static final long WORD_MASK = 0x0000_ffff_ffff_ffffL;
+
+  private long h1;
+  private long h2;
+  private long length;
+
+  void reset() {
+    h1 = 0;
+    h2 = 0;
+    length = 0;
+  }
+
+  /**
+   * Adds a keyword, ignoring its case.
+   */
+  void addWord(CharSequence characters, int start, int end) {
+    long hash = 0;
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + Character.toUpperCase(characters.charAt(i));
+    }
+    add(WORD_BASE | (hash & WORD_MASK));
+  }
+
+  /**
+   * Adds one of the structural characters {@code (}, {@code )} and {@code ,}.
+   */
+  void addSymbol(char symbol) {
+    add(SYMBOL_BASE | symbol);
+  }
+
+  void addNumber(double value) {
+    // -0 and 0 are written alike by different tools.
+    add(value == 0 ? 0 : Double.doubleToRawLongBits(value));
+  }
+
+  GeometryFingerprint getFingerprint() {
+    long high = h1 ^ length;
+    long low = h2 ^ length;
+    high += low;
+    low += high;
+    high = mix(high);
+    low = mix(low);
+    high += low;
+    low += high;
+    return new GeometryFingerprint(high, low);
+  }
+
+  private void add(long word) {
+    h1 ^= Long.rotateLeft(word * C1, 31) * C2;
+    h1 = Long.rotateLeft(h1, 27) + h2;
+    h1 = h1 * 5 + 0x52dce729;
+
+    h2 ^= Long.rotateLeft(word * C2, 33) * C1;
+    h2 = Long.rotateLeft(h2, 31) + h1;
+    h2 = h2 * 5 + 0x38495ab5;
+
+    length++;
+  }
+
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb9fe1a85ec53L;
+    value ^= value >>> 33;
+    return value;
+  }
+}
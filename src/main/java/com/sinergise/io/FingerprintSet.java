@@ -0,0 +1,62 @@
+package com.sinergise.io;
+
+/**
+ * Open-addressing hash set of 128-bit fingerprints held in primitive arrays.
+ */
+final class FingerprintSet {
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private long[] highs = new long[INITIAL_CAPACITY];
+  private long[] lows = new long[INITIAL_CAPACITY];
+  private boolean[] used = new boolean[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Adds the fingerprint and returns whether it was not in the set yet.
+   */
+  boolean add(GeometryFingerprint fingerprint) {
+    if (2 * (size + 1) > used.length) {
+      grow();
+    }
+    if (!insert(fingerprint.high(), fingerprint.low())) {
+      return false;
+    }
+    size++;
+    return true;
+  }
+
+  int size() {
+    return size;
+  }
+
+  private boolean insert(long high, long low) {
+    int mask = used.length - 1;
+    for (int i = (int) (low ^ (low >>> 32)) & mask; ; i = (i + 1) & mask) {
+      if (!used[i]) {
+        used[i] = true;
+        highs[i] = high;
+        lows[i] = low;
+        return true;
+      }
+      if (highs[i] == high && lows[i] == low) {
+        return false;
+      }
+    }
+  }
+
+  private void grow() {
+    long[] oldHighs = highs;
+    long[] oldLows = lows;
+    boolean[] oldUsed = used;
+
+    highs = new long[2 * oldUsed.length];
+    lows = new long[2 * oldUsed.length];
+    used = new boolean[2 * oldUsed.length];
+    for (int i = 0; i < oldUsed.length; i++) {
+      if (oldUsed[i]) {
+        insert(oldHighs[i], oldLows[i]);
+      }
+    }
+  }
+}
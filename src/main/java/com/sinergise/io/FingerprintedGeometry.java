@@ -0,0 +1,9 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+
+/**
+ * A parsed geometry together with the fingerprint of its WKT.
+ */
+public record FingerprintedGeometry(Geometry geometry, GeometryFingerprint fingerprint) {
+}
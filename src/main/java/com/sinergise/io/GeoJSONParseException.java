@@ -0,0 +1,8 @@
+package com.sinergise.io;
+
+public class GeoJSONParseException extends RuntimeException {
+
+  public GeoJSONParseException(String message) {
+    super(message);
+  }
+}
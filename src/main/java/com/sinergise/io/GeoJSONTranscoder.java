@@ -0,0 +1,859 @@
+package com.sinergise.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Converts between WKT and GeoJSON geometries directly on the text, without creating tokens,
+ * doubles or geometries. Numbers are copied verbatim where both formats allow the same text;
+ * leading zeros are dropped for GeoJSON and exponents are expanded to plain decimals for WKT.
+ * <p>
+ * GeoJSON has no M ordinate, so M values are dropped when converting to GeoJSON. Members of a
+ * GeoJSON object may appear in any order; members other than {@code type}, {@code coordinates}
+ * and {@code geometries}, e.g. {@code bbox}, are skipped. GeoJSON output is written without
+ * whitespace.
+ */
+public final class GeoJSONTranscoder {
+
+  private static final int OUTPUT_BUFFER_SIZE = 8 * 1024;
+
+  private GeoJSONTranscoder() {
+  }
+
+  /**
+   * Returns the GeoJSON geometry object of the WKT geometry.
+   */
+  public static String toGeoJSON(final CharSequence wkt) {
+    StringBuilder output = new StringBuilder(wkt.length() + 32);
+    try {
+      toGeoJSON(wkt, output);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return output.toString();
+  }
+
+  /**
+   * Writes the GeoJSON geometry object of the WKT geometry to the output.
+   */
+  public static void toGeoJSON(final CharSequence wkt, final Appendable output)
+      throws IOException {
+    new WKTScanner(wkt, output).transcode();
+  }
+
+  /**
+   * Writes the GeoJSON geometry object of the WKT geometry to the stream as ASCII.
+   */
+  public static void toGeoJSON(final CharSequence wkt, final OutputStream output)
+      throws IOException {
+    AsciiAppendable appendable = new AsciiAppendable(output);
+    toGeoJSON(wkt, appendable);
+    appendable.flush();
+  }
+
+  /**
+   * Returns the WKT of the GeoJSON geometry object.
+   */
+  public static String toWKT(final CharSequence geoJSON) {
+    StringBuilder output = new StringBuilder(geoJSON.length());
+    try {
+      toWKT(geoJSON, output);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return output.toString();
+  }
+
+  /**
+   * Writes the WKT of the GeoJSON geometry object to the output.
+   */
+  public static void toWKT(final CharSequence geoJSON, final Appendable output)
+      throws IOException {
+    new GeoJSONScanner(geoJSON, output).transcode();
+  }
+
+  /**
+   * Writes the WKT of the GeoJSON geometry object to the stream as ASCII.
+   */
+  public static void toWKT(final CharSequence geoJSON, final OutputStream output)
+      throws IOException {
+    AsciiAppendable appendable = new AsciiAppendable(output);
+    toWKT(geoJSON, appendable);
+    appendable.flush();
+  }
+
+  /**
+   * Geometry types with their names in both formats and the nesting depth of their coordinates:
+   * 0 for a single position, 1 for a list of positions and so on.
+   */
+  private enum GeometryType {
+    POINT("Point", 0),
+    LINESTRING("LineString", 1),
+    POLYGON("Polygon", 2),
+    MULTIPOINT("MultiPoint", 1),
+    MULTILINESTRING("MultiLineString", 2),
+    MULTIPOLYGON("MultiPolygon", 3),
+    GEOMETRYCOLLECTION("GeometryCollection", -1);
+
+    private final String geoJSONName;
+    private final int depth;
+
+    GeometryType(String geoJSONName, int depth) {
+      this.geoJSONName = geoJSONName;
+      this.depth = depth;
+    }
+
+    private static GeometryType fromWKT(CharSequence text, int start, int end) {
+      for (GeometryType geometryType : values()) {
+        if (regionMatches(geometryType.name(), text, start, end, true)) {
+          return geometryType;
+        }
+      }
+      return null;
+    }
+
+    private static GeometryType fromGeoJSON(CharSequence text, int start, int end) {
+      for (GeometryType geometryType : values()) {
+        if (regionMatches(geometryType.geoJSONName, text, start, end, false)) {
+          return geometryType;
+        }
+      }
+      return null;
+    }
+  }
+
+  private static final class WKTScanner {
+
+    private final CharSequence text;
+    private final Appendable output;
+    private int position;
+    private boolean measured;
+
+    private WKTScanner(CharSequence text, Appendable output) {
+      this.text = text;
+      this.output = output;
+    }
+
+    private void transcode() throws IOException {
+      geometry();
+      skipWhitespace();
+      if (position < text.length()) {
+        throw error("end of input");
+      }
+    }
+
+    private void geometry() throws IOException {
+      int wordStart = skipWord();
+      GeometryType geometryType = GeometryType.fromWKT(text, wordStart, position);
+      if (geometryType == null) {
+        throw error("a geometry type", wordStart);
+      }
+
+      boolean outerMeasured = measured;
+      measured = false;
+      int tagStart = peekWord();
+      if (tagStart >= 0 && !isEmpty(tagStart)) {
+        skipWord();
+        if (regionMatches("M", text, tagStart, position, true)) {
+          measured = true;
+        } else if (!regionMatches("Z", text, tagStart, position, true)
+            && !regionMatches("ZM", text, tagStart, position, true)) {
+          throw error("a dimension", tagStart);
+        }
+      }
+
+      output.append("{\"type\":\"").append(geometryType.geoJSONName);
+      if (geometryType == GeometryType.GEOMETRYCOLLECTION) {
+        output.append("\",\"geometries\":[");
+        if (!skipEmpty()) {
+          expect('(');
+          do {
+            geometry();
+          } while (separator(','));
+          expect(')');
+        }
+      } else {
+        output.append("\",\"coordinates\":");
+        if (geometryType == GeometryType.POINT) {
+          pointText();
+        } else if (geometryType == GeometryType.MULTIPOINT) {
+          multiPointText();
+        } else {
+          sequenceText(geometryType.depth);
+        }
+      }
+      output.append(geometryType == GeometryType.GEOMETRYCOLLECTION ? "]}" : "}");
+      measured = outerMeasured;
+    }
+
+    private void pointText() throws IOException {
+      if (skipEmpty()) {
+        output.append("[]");
+        return;
+      }
+      expect('(');
+      position();
+      expect(')');
+    }
+
+    /**
+     * Transcodes a multi point, whose members may or may not be enclosed in parentheses.
+     */
+    private void multiPointText() throws IOException {
+      if (skipEmpty()) {
+        output.append("[]");
+        return;
+      }
+      expect('(');
+      output.append('[');
+      do {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == '(') {
+          pointText();
+        } else if (skipEmpty()) {
+          output.append("[]");
+        } else {
+          position();
+        }
+      } while (separator(','));
+      expect(')');
+      output.append(']');
+    }
+
+    private void sequenceText(int depth) throws IOException {
+      if (skipEmpty()) {
+        output.append("[]");
+        return;
+      }
+      expect('(');
+      output.append('[');
+      do {
+        if (depth == 1) {
+          position();
+        } else {
+          sequenceText(depth - 1);
+        }
+      } while (separator(','));
+      expect(')');
+      output.append(']');
+    }
+
+    /**
+     * Transcodes the ordinates of one position, keeping X, Y and Z.
+     */
+    private void position() throws IOException {
+      output.append('[');
+      int ordinate = 0;
+      while (true) {
+        skipWhitespace();
+        if (position == text.length() || !isNumberStart(text.charAt(position))) {
+          break;
+        }
+        boolean keep = ordinate < 2 || (ordinate == 2 && !measured);
+        if (keep && ordinate > 0) {
+          output.append(',');
+        }
+        number(keep);
+        ordinate++;
+      }
+      if (ordinate < 2 || ordinate > 4) {
+        throw error(ordinate < 2 ? "a number" : "',' or ')'");
+      }
+      output.append(']');
+    }
+
+    /**
+     * Skips the number at the current position and copies it to the output if requested,
+     * without the leading zeros JSON does not allow.
+     */
+    private void number(boolean copy) throws IOException {
+      int start = position;
+      if (text.charAt(position) == '-') {
+        position++;
+      }
+      int integerStart = position;
+      skipDigits();
+      if (position == integerStart) {
+        throw error("a digit");
+      }
+      if (position < text.length() && text.charAt(position) == '.') {
+        int fractionStart = ++position;
+        skipDigits();
+        if (position == fractionStart) {
+          throw error("a digit");
+        }
+      }
+
+      if (copy) {
+        int significantStart = integerStart;
+        while (significantStart + 1 < position && text.charAt(significantStart) == '0'
+            && WKTTokenizer.isDigit(text.charAt(significantStart + 1))) {
+          significantStart++;
+        }
+        if (integerStart > start) {
+          output.append('-');
+        }
+        output.append(text, significantStart, position);
+      }
+    }
+
+    private void skipDigits() {
+      while (position < text.length() && WKTTokenizer.isDigit(text.charAt(position))) {
+        position++;
+      }
+    }
+
+    private boolean separator(char separator) throws IOException {
+      skipWhitespace();
+      if (position < text.length() && text.charAt(position) == separator) {
+        position++;
+        output.append(',');
+        return true;
+      }
+      return false;
+    }
+
+    private void expect(char character) {
+      skipWhitespace();
+      if (position == text.length() || text.charAt(position) != character) {
+        throw error("'" + character + "'");
+      }
+      position++;
+    }
+
+    private boolean skipEmpty() {
+      int wordStart = peekWord();
+      if (wordStart >= 0 && isEmpty(wordStart)) {
+        skipWord();
+        return true;
+      }
+      return false;
+    }
+
+    private boolean isEmpty(int wordStart) {
+      int end = wordStart;
+      while (end < text.length() && WKTTokenizer.isWordCharacter(text.charAt(end))) {
+        end++;
+      }
+      return regionMatches("EMPTY", text, wordStart, end, true);
+    }
+
+    /**
+     * Returns the start of the word after any whitespace, or -1 if there is none.
+     */
+    private int peekWord() {
+      skipWhitespace();
+      return position < text.length() && WKTTokenizer.isLetter(text.charAt(position))
+          ? position : -1;
+    }
+
+    private int skipWord() {
+      int start = peekWord();
+      if (start < 0) {
+        throw error("a word");
+      }
+      while (position < text.length() && WKTTokenizer.isWordCharacter(text.charAt(position))) {
+        position++;
+      }
+      return start;
+    }
+
+    private void skipWhitespace() {
+      while (position < text.length() && WKTTokenizer.isWhitespace(text.charAt(position))) {
+        position++;
+      }
+    }
+
+    private WKTParseException error(String expected) {
+      return error(expected, position);
+    }
+
+    private WKTParseException error(String expected, int at) {
+      return new WKTParseException(String.format(
+          "Invalid WKT string. Expected %s at position %d.", expected, at));
+    }
+
+    private static boolean isNumberStart(char character) {
+      return WKTTokenizer.isDigit(character) || character == '-';
+    }
+  }
+
+  private static final class GeoJSONScanner {
+
+    private final CharSequence text;
+    private final Appendable output;
+    private int position;
+    private int ordinateCount;
+
+    private GeoJSONScanner(CharSequence text, Appendable output) {
+      this.text = text;
+      this.output = output;
+    }
+
+    private void transcode() throws IOException {
+      geometry();
+      skipWhitespace();
+      if (position < text.length()) {
+        throw error("end of input");
+      }
+    }
+
+    /**
+     * Transcodes the geometry object at the current position. Members are located first and
+     * transcoded afterwards, as {@code type} may follow {@code coordinates}.
+     */
+    private void geometry() throws IOException {
+      int typeStart = -1;
+      int typeEnd = -1;
+      int valueStart = -1;
+      int valueEnd = -1;
+
+      expect('{');
+      if (!skip('}')) {
+        do {
+          int keyStart = string();
+          int keyEnd = position - 1;
+          expect(':');
+          skipWhitespace();
+          if (regionMatches("type", text, keyStart, keyEnd, false)) {
+            typeStart = string();
+            typeEnd = position - 1;
+          } else if (regionMatches("coordinates", text, keyStart, keyEnd, false)
+              || regionMatches("geometries", text, keyStart, keyEnd, false)) {
+            valueStart = position;
+            skipValue();
+            valueEnd = position;
+          } else {
+            skipValue();
+          }
+        } while (skip(','));
+        expect('}');
+      }
+
+      if (typeStart < 0) {
+        throw new GeoJSONParseException("Invalid GeoJSON geometry. Missing member \"type\".");
+      }
+      GeometryType geometryType = GeometryType.fromGeoJSON(text, typeStart, typeEnd);
+      if (geometryType == null) {
+        throw error("a geometry type", typeStart);
+      }
+      if (valueStart < 0) {
+        throw new GeoJSONParseException(String.format(
+            "Invalid GeoJSON geometry. Missing member \"%s\".",
+            geometryType == GeometryType.GEOMETRYCOLLECTION ? "geometries" : "coordinates"));
+      }
+
+      int end = position;
+      position = valueStart;
+      output.append(geometryType.name());
+      if (geometryType == GeometryType.GEOMETRYCOLLECTION) {
+        geometryCollection();
+      } else {
+        coordinates(geometryType, valueEnd);
+      }
+      position = end;
+    }
+
+    private void geometryCollection() throws IOException {
+      expect('[');
+      if (skip(']')) {
+        output.append(" EMPTY");
+        return;
+      }
+      output.append(" (");
+      do {
+        geometry();
+      } while (separator());
+      expect(']');
+      output.append(')');
+    }
+
+    private void coordinates(GeometryType geometryType, int valueEnd) throws IOException {
+      int outerOrdinateCount = ordinateCount;
+      ordinateCount = firstOrdinateCount(valueEnd);
+      if (ordinateCount == 0) {
+        skipValue();
+        output.append(" EMPTY");
+      } else {
+        output.append(ordinateCount == 3 ? " Z " : " ");
+        if (geometryType == GeometryType.POINT) {
+          output.append('(');
+          position();
+          output.append(')');
+        } else if (geometryType == GeometryType.MULTIPOINT) {
+          sequence(1, true);
+        } else {
+          sequence(geometryType.depth, false);
+        }
+      }
+      ordinateCount = outerOrdinateCount;
+    }
+
+    /**
+     * Transcodes an array of positions or, for larger depths, of nested arrays.
+     */
+    private void sequence(int depth, boolean parenthesizePositions) throws IOException {
+      expect('[');
+      if (skip(']')) {
+        output.append("EMPTY");
+        return;
+      }
+      output.append('(');
+      do {
+        if (depth > 1) {
+          sequence(depth - 1, false);
+        } else if (parenthesizePositions) {
+          output.append('(');
+          position();
+          output.append(')');
+        } else {
+          position();
+        }
+      } while (separator());
+      expect(']');
+      output.append(')');
+    }
+
+    /**
+     * Transcodes a position, keeping at most three ordinates.
+     */
+    private void position() throws IOException {
+      expect('[');
+      int ordinate = 0;
+      if (!skip(']')) {
+        do {
+          skipWhitespace();
+          if (ordinate > 0 && ordinate < ordinateCount) {
+            output.append(' ');
+          }
+          number(ordinate < ordinateCount);
+          ordinate++;
+        } while (skip(','));
+        expect(']');
+      }
+      if (Math.min(ordinate, 3) != ordinateCount) {
+        throw new GeoJSONParseException(String.format(
+            "Invalid GeoJSON geometry. Expected %d ordinates but found %d at position %d.",
+            ordinateCount, ordinate, position));
+      }
+    }
+
+    /**
+     * Returns the number of ordinates (2 or 3) of the first position of the coordinates value from
+     * the current position to {@code end}, or 0 if it contains no position, without moving the
+     * position.
+     */
+    private int firstOrdinateCount(int end) {
+      int start = position;
+      try {
+        while (position < end && text.charAt(position) != '-'
+            && !WKTTokenizer.isDigit(text.charAt(position))) {
+          position++;
+        }
+        if (position == end) {
+          return 0;
+        }
+        int ordinates = 0;
+        do {
+          skipWhitespace();
+          skipNumber();
+          ordinates++;
+        } while (skip(','));
+        if (ordinates < 2) {
+          throw error("at least two ordinates");
+        }
+        return Math.min(ordinates, 3);
+      } finally {
+        position = start;
+      }
+    }
+
+    /**
+     * Skips the number at the current position and copies it to the output if requested,
+     * expanding any exponent.
+     */
+    private void number(boolean copy) throws IOException {
+      int start = position;
+      skipNumber();
+      if (!copy) {
+        return;
+      }
+
+      int mantissaEnd = start;
+      while (mantissaEnd < position && text.charAt(mantissaEnd) != 'e'
+          && text.charAt(mantissaEnd) != 'E') {
+        mantissaEnd++;
+      }
+      if (mantissaEnd == position) {
+        output.append(text, start, position);
+      } else {
+        appendPlain(start, mantissaEnd, parseExponent(mantissaEnd + 1));
+      }
+    }
+
+    /**
+     * Appends the mantissa from {@code start} to {@code end}, multiplied by 10^exponent, as a
+     * WKT number, i.e. with optional sign, digits and optional fraction.
+     */
+    private void appendPlain(int start, int end, int exponent) throws IOException {
+      if (text.charAt(start) == '-') {
+        output.append('-');
+        start++;
+      }
+      int pointIndex = start;
+      while (pointIndex < end && text.charAt(pointIndex) != '.') {
+        pointIndex++;
+      }
+      int integerDigits = pointIndex - start;
+      int digitCount = pointIndex < end ? end - start - 1 : integerDigits;
+      int newIntegerDigits = integerDigits + exponent;
+
+      boolean leading = true;
+      for (int i = 0; i < Math.max(newIntegerDigits, 1); i++) {
+        char digit = i < newIntegerDigits ? digit(start, pointIndex, i, digitCount) : '0';
+        if (leading && digit == '0' && i < Math.max(newIntegerDigits, 1) - 1) {
+          continue;
+        }
+        leading = false;
+        output.append(digit);
+      }
+      if (newIntegerDigits < digitCount) {
+        output.append('.');
+        for (int i = Math.min(newIntegerDigits, 0); i < 0; i++) {
+          output.append('0');
+        }
+        for (int i = Math.max(newIntegerDigits, 0); i < digitCount; i++) {
+          output.append(digit(start, pointIndex, i, digitCount));
+        }
+      }
+    }
+
+    /**
+     * Returns the digit with the given index of a mantissa, ignoring its decimal point, or '0'
+     * past its last digit.
+     */
+    private char digit(int start, int pointIndex, int index, int digitCount) {
+      if (index >= digitCount) {
+        return '0';
+      }
+      int offset = start + index;
+      return text.charAt(offset < pointIndex ? offset : offset + 1);
+    }
+
+    private int parseExponent(int start) {
+      boolean negative = text.charAt(start) == '-';
+      if (negative || text.charAt(start) == '+') {
+        start++;
+      }
+      int exponent = 0;
+      for (int i = start; i < position; i++) {
+        exponent = 10 * exponent + (text.charAt(i) - '0');
+        if (exponent > 9999) {
+          throw error("an exponent of at most 9999", start);
+        }
+      }
+      return negative ? -exponent : exponent;
+    }
+
+    /**
+     * Skips a JSON number: {@code -?(0|[1-9]\d*)(\.\d+)?([eE][+-]?\d+)?}.
+     */
+    private void skipNumber() {
+      int start = position;
+      if (position < text.length() && text.charAt(position) == '-') {
+        position++;
+      }
+      if (position < text.length() && text.charAt(position) == '0') {
+        position++;
+      } else if (skipDigits() == 0) {
+        throw error("a number", start);
+      }
+      if (position < text.length() && text.charAt(position) == '.') {
+        position++;
+        if (skipDigits() == 0) {
+          throw error("a digit");
+        }
+      }
+      if (position < text.length()
+          && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+        position++;
+        if (position < text.length()
+            && (text.charAt(position) == '+' || text.charAt(position) == '-')) {
+          position++;
+        }
+        if (skipDigits() == 0) {
+          throw error("a digit");
+        }
+      }
+    }
+
+    private int skipDigits() {
+      int start = position;
+      while (position < text.length() && WKTTokenizer.isDigit(text.charAt(position))) {
+        position++;
+      }
+      return position - start;
+    }
+
+    /**
+     * Skips the string at the current position and returns the index of its first character;
+     * the position is then right after the closing quote.
+     */
+    private int string() {
+      expect('"');
+      int start = position;
+      while (position < text.length() && text.charAt(position) != '"') {
+        position += text.charAt(position) == '\\' ? 2 : 1;
+      }
+      if (position >= text.length()) {
+        throw error("'\"'");
+      }
+      position++;
+      return start;
+    }
+
+    /**
+     * Skips any JSON value, tracking only the nesting of objects and arrays.
+     */
+    private void skipValue() {
+      int depth = 0;
+      do {
+        skipWhitespace();
+        if (position == text.length()) {
+          throw error("a value");
+        }
+        char character = text.charAt(position);
+        if (character == '"') {
+          string();
+        } else if (character == '{' || character == '[') {
+          position++;
+          depth++;
+        } else if (character == '}' || character == ']') {
+          if (depth == 0) {
+            throw error("a value");
+          }
+          position++;
+          depth--;
+        } else if (character == ',' || character == ':') {
+          if (depth == 0) {
+            throw error("a value");
+          }
+          position++;
+        } else if (character == '-' || WKTTokenizer.isDigit(character)) {
+          skipNumber();
+        } else if (WKTTokenizer.isLetter(character)) {
+          int start = position;
+          while (position < text.length() && WKTTokenizer.isLetter(text.charAt(position))) {
+            position++;
+          }
+          if (!regionMatches("true", text, start, position, false)
+              && !regionMatches("false", text, start, position, false)
+              && !regionMatches("null", text, start, position, false)) {
+            throw error("a value", start);
+          }
+        } else {
+          throw error("a value");
+        }
+      } while (depth > 0);
+    }
+
+    private boolean separator() throws IOException {
+      if (skip(',')) {
+        output.append(", ");
+        return true;
+      }
+      return false;
+    }
+
+    private boolean skip(char character) {
+      skipWhitespace();
+      if (position < text.length() && text.charAt(position) == character) {
+        position++;
+        return true;
+      }
+      return false;
+    }
+
+    private void expect(char character) {
+      if (!skip(character)) {
+        throw error("'" + character + "'");
+      }
+    }
+
+    private void skipWhitespace() {
+      while (position < text.length() && isWhitespace(text.charAt(position))) {
+        position++;
+      }
+    }
+
+    private GeoJSONParseException error(String expected) {
+      return error(expected, position);
+    }
+
+    private GeoJSONParseException error(String expected, int at) {
+      return new GeoJSONParseException(String.format(
+          "Invalid GeoJSON geometry. Expected %s at position %d.", expected, at));
+    }
+
+    private static boolean isWhitespace(char character) {
+      return character == ' ' || character == '\t' || character == '\n' || character == '\r';
+    }
+  }
+
+  private static boolean regionMatches(String expected, CharSequence text, int start, int end,
+      boolean ignoreCase) {
+    if (end - start != expected.length()) {
+      return false;
+    }
+    for (int i = 0; i < expected.length(); i++) {
+      char character = text.charAt(start + i);
+      if (character != expected.charAt(i)
+          && (!ignoreCase || Character.toUpperCase(character) != expected.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Buffers characters, which are always ASCII in either output format, as bytes.
+   */
+  private static final class AsciiAppendable implements Appendable {
+
+    private final OutputStream output;
+    private final byte[] buffer = new byte[OUTPUT_BUFFER_SIZE];
+    private int size;
+
+    private AsciiAppendable(OutputStream output) {
+      this.output = output;
+    }
+
+    @Override
+    public Appendable append(CharSequence characters) throws IOException {
+      return append(characters, 0, characters.length());
+    }
+
+    @Override
+    public Appendable append(CharSequence characters, int start, int end) throws IOException {
+      for (int i = start; i < end; i++) {
+        append(characters.charAt(i));
+      }
+      return this;
+    }
+
+    @Override
+    public Appendable append(char character) throws IOException {
+      if (size == buffer.length) {
+        flush();
+      }
+      buffer[size++] = (byte) character;
+      return this;
+    }
+
+    private void flush() throws IOException {
+      output.write(buffer, 0, size);
+      size = 0;
+    }
+  }
+}
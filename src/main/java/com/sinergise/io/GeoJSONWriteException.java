@@ -0,0 +1,12 @@
+package com.sinergise.io;
+
+public class GeoJSONWriteException extends RuntimeException {
+
+  public GeoJSONWriteException(String message) {
+    super(message);
+  }
+
+  public GeoJSONWriteException(String message, Throwable throwable) {
+    super(message, throwable);
+  }
+}
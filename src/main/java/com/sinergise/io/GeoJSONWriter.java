@@ -0,0 +1,170 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+import com.sinergise.geometry.GeometryCollection;
+import com.sinergise.geometry.LineString;
+import com.sinergise.geometry.Point;
+import com.sinergise.geometry.Polygon;
+import com.sinergise.io.WKTWriter.WKTGeometryType;
+import java.io.IOException;
+
+/**
+ * Writes geometries as GeoJSON geometry objects without whitespace, with the same output as
+ * {@link GeoJSONTranscoder#toGeoJSON(CharSequence)} of their WKT. GeoJSON has no M ordinate, so M
+ * values are dropped; empty geometries have empty coordinates. Instances reuse their buffer and
+ * are not thread-safe.
+ */
+public class GeoJSONWriter {
+
+  private static final int INITIAL_CAPACITY = 256;
+
+  private final int precision;
+  private final char[] coordinateBuffer;
+
+  private Appendable output;
+
+  /**
+   * Creates a writer that outputs coordinates with the given number of decimal places, or with
+   * {@link WKTWriter#FULL_PRECISION}.
+   */
+  public GeoJSONWriter(final int precision) {
+    if (precision < 0 && precision != WKTWriter.FULL_PRECISION) {
+      throw new IllegalArgumentException("Precision must not be negative. Got: " + precision);
+    }
+    this.precision = precision;
+    this.coordinateBuffer = new char[WKTNumberFormat.maxLength(precision)];
+  }
+
+  /**
+   * Returns the GeoJSON geometry object of the geometry.
+   */
+  public String write(final Geometry geometry) {
+    StringBuilder builder = new StringBuilder(INITIAL_CAPACITY);
+    write(geometry, builder);
+    return builder.toString();
+  }
+
+  /**
+   * Writes the GeoJSON geometry object of the geometry to the output.
+   */
+  public void write(final Geometry geometry, final Appendable output) {
+    this.output = output;
+    try {
+      writeGeometry(geometry);
+    } catch (IOException e) {
+      throw new GeoJSONWriteException("IOException occurred during GeoJSON write.", e);
+    } finally {
+      this.output = null;
+    }
+  }
+
+  private void writeGeometry(Geometry geometry) throws IOException {
+    WKTGeometryType geometryType = WKTGeometryType.from(geometry);
+    Dimension dimension = Dimension.of(geometry);
+
+    output.append("{\"type\":\"").append(geoJSONName(geometryType));
+    if (geometryType == WKTGeometryType.GEOMETRY_COLLECTION) {
+      output.append("\",\"geometries\":[");
+      GeometryCollection<?> collection = (GeometryCollection<?>) geometry;
+      for (int i = 0; i < collection.size(); i++) {
+        if (i > 0) {
+          output.append(',');
+        }
+        writeGeometry(collection.get(i));
+      }
+      output.append("]}");
+    } else {
+      output.append("\",\"coordinates\":");
+      writeCoordinates(geometry, geometryType, dimension);
+      output.append('}');
+    }
+  }
+
+  private void writeCoordinates(Geometry geometry, WKTGeometryType geometryType,
+      Dimension dimension) throws IOException {
+    if (geometry.isEmpty()) {
+      output.append("[]");
+      return;
+    }
+
+    switch (geometryType) {
+      case POINT -> writePosition((Point) geometry, dimension);
+      case LINESTRING -> writePositions((LineString) geometry, dimension);
+      case POLYGON -> {
+        Polygon polygon = (Polygon) geometry;
+        output.append('[');
+        writePositions(polygon.getOuter(), dimension);
+        for (int i = 0; i < polygon.getNumHoles(); i++) {
+          output.append(',');
+          writePositions(polygon.getHole(i), dimension);
+        }
+        output.append(']');
+      }
+      case MULTIPOINT, MULTILINESTRING, MULTIPOLYGON -> {
+        GeometryCollection<?> collection = (GeometryCollection<?>) geometry;
+        output.append('[');
+        for (int i = 0; i < collection.size(); i++) {
+          if (i > 0) {
+            output.append(',');
+          }
+          writeCoordinates(collection.get(i), geometryType.getMemberType(), dimension);
+        }
+        output.append(']');
+      }
+      case GEOMETRY_COLLECTION -> throw new IllegalStateException(
+          "Geometry collections have no coordinates.");
+    }
+  }
+
+  private void writePositions(LineString lineString, Dimension dimension) throws IOException {
+    LineStringZM lineStringZM = dimension.hasZ() ? (LineStringZM) lineString : null;
+    output.append('[');
+    for (int i = 0; i < lineString.getNumCoords(); i++) {
+      if (i > 0) {
+        output.append(',');
+      }
+      writePosition(lineString.getX(i), lineString.getY(i),
+          lineStringZM == null ? Double.NaN : lineStringZM.getZ(i), lineStringZM != null);
+    }
+    output.append(']');
+  }
+
+  private void writePosition(Point point, Dimension dimension) throws IOException {
+    writePosition(point.getX(), point.getY(),
+        dimension.hasZ() ? ((PointZM) point).getZ() : Double.NaN, dimension.hasZ());
+  }
+
+  private void writePosition(double x, double y, double z, boolean hasZ) throws IOException {
+    output.append('[');
+    writeNumber(x);
+    output.append(',');
+    writeNumber(y);
+    if (hasZ) {
+      output.append(',');
+      writeNumber(z);
+    }
+    output.append(']');
+  }
+
+  private void writeNumber(double value) throws IOException {
+    if (!Double.isFinite(value)) {
+      throw new GeoJSONWriteException("GeoJSON cannot represent the coordinate " + value + ".");
+    }
+    int length = WKTNumberFormat.format(value, precision, coordinateBuffer, 0);
+    for (int i = 0; i < length; i++) {
+      output.append(coordinateBuffer[i]);
+    }
+  }
+
+  private static String geoJSONName(WKTGeometryType geometryType) {
+    return switch (geometryType) {
+      case POINT -> "Point";
+      case LINESTRING -> "LineString";
+      case POLYGON -> "Polygon";
+      case MULTIPOINT -> "MultiPoint";
+      case MULTILINESTRING -> "MultiLineString";
+      case MULTIPOLYGON -> "MultiPolygon";
+      case GEOMETRY_COLLECTION -> "GeometryCollection";
+    };
+  }
+}
@@ -0,0 +1,11 @@
+package com.sinergise.io;
+
+/**
+ * 128-bit hash of the canonical form of a WKT geometry: its geometry types, dimension tags,
+ * parentheses, separators and the exact values of its ordinates. Formatting does not change the
+ * fingerprint - keyword case, whitespace and number forms such as {@code 10}, {@code 10.0} and
+ * {@code 10.00} hash alike. Fingerprints are computed from the ordinates as written, before any
+ * coordinate transform or precision model, and are stable across runs.
+ */
+public record GeometryFingerprint(long high, long low) {
+}
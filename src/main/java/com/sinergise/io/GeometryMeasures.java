@@ -0,0 +1,70 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+import com.sinergise.geometry.GeometryCollection;
+import com.sinergise.geometry.LineString;
+import com.sinergise.geometry.Polygon;
+import com.sinergise.io.WKTWriter.WKTGeometryType;
+
+/**
+ * Structural measures of geometries, as reported by the WKT read and write events.
+ */
+final class GeometryMeasures {
+
+  private GeometryMeasures() {
+  }
+
+  /**
+   * Returns the number of vertices of the geometry, including the vertices of all its members.
+   */
+  static long vertexCount(Geometry geometry) {
+    if (geometry.isEmpty()) {
+      return 0;
+    }
+
+    return switch (WKTGeometryType.from(geometry)) {
+      case POINT -> 1;
+      case LINESTRING -> ((LineString) geometry).getNumCoords();
+      case POLYGON -> polygonVertexCount((Polygon) geometry);
+      case GEOMETRY_COLLECTION, MULTIPOINT, MULTILINESTRING, MULTIPOLYGON -> {
+        GeometryCollection<?> geometryCollection = (GeometryCollection<?>) geometry;
+        long vertexCount = 0;
+        for (int i = 0; i < geometryCollection.size(); i++) {
+          vertexCount += vertexCount(geometryCollection.get(i));
+        }
+        yield vertexCount;
+      }
+    };
+  }
+
+  /**
+   * Returns the maximum parentheses nesting depth of the geometry's WKT, 0 for empty geometries.
+   */
+  static int nestingDepth(Geometry geometry) {
+    if (geometry.isEmpty()) {
+      return 0;
+    }
+
+    return switch (WKTGeometryType.from(geometry)) {
+      case POINT, LINESTRING -> 1;
+      case POLYGON, MULTIPOINT, MULTILINESTRING -> 2;
+      case MULTIPOLYGON -> 3;
+      case GEOMETRY_COLLECTION -> {
+        GeometryCollection<?> geometryCollection = (GeometryCollection<?>) geometry;
+        int memberDepth = 0;
+        for (int i = 0; i < geometryCollection.size(); i++) {
+          memberDepth = Math.max(memberDepth, nestingDepth(geometryCollection.get(i)));
+        }
+        yield 1 + memberDepth;
+      }
+    };
+  }
+
+  private static long polygonVertexCount(Polygon polygon) {
+    long vertexCount = polygon.getOuter().getNumCoords();
+    for (int i = 0; i < polygon.getNumHoles(); i++) {
+      vertexCount += polygon.getHole(i).getNumCoords();
+    }
+    return vertexCount;
+  }
+}
@@ -0,0 +1,211 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+import com.sinergise.geometry.GeometryCollection;
+import com.sinergise.geometry.LineString;
+import com.sinergise.geometry.MultiLineString;
+import com.sinergise.geometry.MultiPoint;
+import com.sinergise.geometry.MultiPolygon;
+import com.sinergise.geometry.Point;
+import com.sinergise.geometry.Polygon;
+import com.sinergise.io.WKTWriter.WKTGeometryType;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only, memory-mapped file of geometries written by {@link GeometryStoreWriter}. Opening the
+ * store maps the file without reading it; {@link #get(int)} locates a record through the offset
+ * index in constant time and decodes only that record, copying coordinate blocks in bulk.
+ * <p>
+ * The file is mapped in segments of {@value #SEGMENT_SIZE} bytes, each extended by the length of
+ * the longest record so that every record lies within the segment it starts in. Instances are
+ * safe for concurrent reads. The mapping is released by the garbage collector, not by
+ * {@link #close()}.
+ */
+public class GeometryStore implements Closeable {
+
+  static final int MAGIC = 0x4f45_4753;
+  static final int VERSION = 1;
+  static final int HEADER_LENGTH = 32;
+
+  static final int SEGMENT_SIZE = 1 << 30;
+  static final int MAX_RECORD_LENGTH = Integer.MAX_VALUE - SEGMENT_SIZE;
+  static final int MAX_RECORD_COUNT = Integer.MAX_VALUE / Long.BYTES;
+
+  private final FileChannel channel;
+  private final int size;
+  private final LongBuffer offsets;
+  private final ByteBuffer[] segments;
+
+  private GeometryStore(FileChannel channel) throws IOException {
+    this.channel = channel;
+
+    if (channel.size() < HEADER_LENGTH) {
+      throw new IOException("Not a geometry store file.");
+    }
+    ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_LENGTH)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    if (header.getInt() != MAGIC) {
+      throw new IOException("Not a geometry store file.");
+    }
+    int version = header.getInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported geometry store version: " + version);
+    }
+    long recordCount = header.getLong();
+    long indexOffset = header.getLong();
+    long maxRecordLength = header.getLong();
+    if (recordCount < 0 || recordCount > MAX_RECORD_COUNT || indexOffset < HEADER_LENGTH
+        || indexOffset + Long.BYTES * recordCount > channel.size()
+        || maxRecordLength < 0 || maxRecordLength > MAX_RECORD_LENGTH) {
+      throw new IOException("Corrupt geometry store header.");
+    }
+
+    this.size = (int) recordCount;
+    this.offsets = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset,
+        Long.BYTES * recordCount).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+
+    this.segments = new ByteBuffer[(int) ((indexOffset + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+    for (int i = 0; i < segments.length; i++) {
+      long start = (long) i * SEGMENT_SIZE;
+      long length = Math.min(SEGMENT_SIZE + maxRecordLength, indexOffset - start);
+      segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length)
+          .order(ByteOrder.LITTLE_ENDIAN);
+    }
+  }
+
+  /**
+   * Maps the store file for reading.
+   */
+  public static GeometryStore open(final Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      return new GeometryStore(channel);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the number of records.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Decodes the geometry of the record with the given zero-based number.
+   */
+  public Geometry get(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(
+          String.format("Record %d out of bounds for store of %d records.", index, size));
+    }
+
+    long offset = offsets.get(index);
+    int segment = (int) (offset / SEGMENT_SIZE);
+    return new RecordDecoder(segments[segment], (int) (offset - (long) segment * SEGMENT_SIZE))
+        .decode();
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private static final class RecordDecoder {
+
+    private final ByteBuffer segment;
+    private int position;
+
+    private RecordDecoder(ByteBuffer segment, int position) {
+      this.segment = segment;
+      this.position = position;
+    }
+
+    private Geometry decode() {
+      int code = segment.getInt(position);
+      int count = segment.getInt(position + Integer.BYTES);
+      position += 2 * Integer.BYTES;
+
+      WKTGeometryType geometryType = GeometryTypeCodes.geometryType(code);
+      Dimension dimension = GeometryTypeCodes.dimension(code);
+      return switch (geometryType) {
+        case POINT -> decodePoint(dimension, count);
+        case LINESTRING -> decodeLineString(dimension, count);
+        case POLYGON -> decodePolygon(count);
+        case MULTIPOINT -> new MultiPoint(decodeMembers(count).toArray(new Point[0]));
+        case MULTILINESTRING ->
+            new MultiLineString(decodeMembers(count).toArray(new LineString[0]));
+        case MULTIPOLYGON -> new MultiPolygon(decodeMembers(count).toArray(new Polygon[0]));
+        case GEOMETRY_COLLECTION -> new GeometryCollection<>(decodeMembers(count));
+      };
+    }
+
+    private Point decodePoint(Dimension dimension, int count) {
+      if (count == 0) {
+        return dimension == Dimension.XY ? new Point() : new PointZM(dimension);
+      }
+
+      double[] ordinates = decodeDoubles(dimension.getStride());
+      if (dimension == Dimension.XY) {
+        return new Point(ordinates[0], ordinates[1]);
+      }
+      return new PointZM(dimension, ordinates[0], ordinates[1], ordinates[2],
+          ordinates[dimension.getStride() - 1]);
+    }
+
+    private LineString decodeLineString(Dimension dimension, int count) {
+      if (count == 0) {
+        return dimension == Dimension.XY ? new LineString() : new LineStringZM(dimension);
+      }
+
+      double[] coordinates = decodeDoubles(2 * count);
+      if (dimension == Dimension.XY) {
+        return new LineString(coordinates);
+      }
+      return new LineStringZM(dimension, coordinates,
+          decodeDoubles((dimension.getStride() - 2) * count));
+    }
+
+    private Polygon decodePolygon(int count) {
+      if (count == 0) {
+        return new Polygon();
+      }
+
+      LineString outer = (LineString) decode();
+      LineString[] holes = new LineString[count - 1];
+      for (int i = 0; i < holes.length; i++) {
+        holes[i] = (LineString) decode();
+      }
+      return new Polygon(outer, holes);
+    }
+
+    private <T extends Geometry> List<T> decodeMembers(int count) {
+      List<T> members = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        @SuppressWarnings("unchecked")
+        T member = (T) decode();
+        members.add(member);
+      }
+      return members;
+    }
+
+    private double[] decodeDoubles(int count) {
+      double[] values = new double[count];
+      segment.slice(position, Double.BYTES * count).order(ByteOrder.LITTLE_ENDIAN)
+          .asDoubleBuffer().get(values);
+      position += Double.BYTES * count;
+      return values;
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+import com.sinergise.geometry.GeometryCollection;
+import com.sinergise.geometry.LineString;
+import com.sinergise.geometry.Point;
+import com.sinergise.geometry.Polygon;
+import com.sinergise.io.WKTWriter.WKTGeometryType;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes geometries to a file that {@link GeometryStore} opens for random access. Geometries are
+ * appended one record at a time; the offset index and the header are written on
+ * {@link #close()}, so the file is only valid once the writer is closed.
+ * <p>
+ * File layout, all values little-endian:
+ * <ul>
+ *   <li>header of {@value GeometryStore#HEADER_LENGTH} bytes: magic number, format version, record
+ *   count, index offset and the length of the longest record,</li>
+ *   <li>records, each starting at a multiple of 8 bytes,</li>
+ *   <li>index: the offset of every record as a 64-bit integer.</li>
+ * </ul>
+ * Every geometry in a record is a 32-bit ISO WKB type code and a 32-bit count of points,
+ * coordinates, rings or members, followed by its contents. Coordinates of a point or line string
+ * are stored as a block of interleaved X/Y values, followed by a block of the interleaved Z/M
+ * values, if any, so both can be decoded with bulk copies.
+ */
+public class GeometryStoreWriter implements Closeable {
+
+  private static final int INITIAL_RECORD_CAPACITY = 4 * 1024;
+  private static final int INITIAL_INDEX_CAPACITY = 1024;
+
+  private final FileChannel channel;
+
+  private ByteBuffer record = allocate(INITIAL_RECORD_CAPACITY);
+  private long[] offsets = new long[INITIAL_INDEX_CAPACITY];
+  private int recordCount;
+  private long position = GeometryStore.HEADER_LENGTH;
+  private int maxRecordLength;
+
+  /**
+   * Creates the file, or truncates it if it exists.
+   */
+  public GeometryStoreWriter(final Path path) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+  }
+
+  /**
+   * Appends the geometry as the next record and returns its record number.
+   */
+  public int add(final Geometry geometry) throws IOException {
+    if (recordCount == GeometryStore.MAX_RECORD_COUNT) {
+      throw new IllegalStateException(
+          "Geometry store is full. It holds at most " + GeometryStore.MAX_RECORD_COUNT
+              + " records.");
+    }
+
+    record.clear();
+    encode(geometry);
+    record.flip();
+    int length = record.remaining();
+
+    if (recordCount == offsets.length) {
+      offsets = Arrays.copyOf(offsets, 2 * recordCount);
+    }
+    offsets[recordCount] = position;
+    writeFully(record, position);
+    position += length;
+    maxRecordLength = Math.max(maxRecordLength, length);
+
+    return recordCount++;
+  }
+
+  /**
+   * Writes the index and the header and closes the file.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      ByteBuffer index = allocate(Long.BYTES * recordCount);
+      index.asLongBuffer().put(offsets, 0, recordCount);
+      writeFully(index, position);
+
+      ByteBuffer header = allocate(GeometryStore.HEADER_LENGTH);
+      header.putInt(GeometryStore.MAGIC)
+          .putInt(GeometryStore.VERSION)
+          .putLong(recordCount)
+          .putLong(position)
+          .putLong(maxRecordLength)
+          .flip();
+      writeFully(header, 0);
+    } finally {
+      channel.close();
+    }
+  }
+
+  private void encode(Geometry geometry) {
+    WKTGeometryType geometryType = WKTWriter.WKTGeometryType.from(geometry);
+    switch (geometryType) {
+      case POINT -> encodePoint((Point) geometry);
+      case LINESTRING -> encodeLineString((LineString) geometry);
+      case POLYGON -> {
+        Polygon polygon = (Polygon) geometry;
+        putHeader(geometryType, Dimension.XY, polygon.isEmpty() ? 0 : 1 + polygon.getNumHoles());
+        if (!polygon.isEmpty()) {
+          encodeLineString(polygon.getOuter());
+          for (int i = 0; i < polygon.getNumHoles(); i++) {
+            encodeLineString(polygon.getHole(i));
+          }
+        }
+      }
+      case MULTIPOINT, MULTILINESTRING, MULTIPOLYGON, GEOMETRY_COLLECTION -> {
+        GeometryCollection<?> collection = (GeometryCollection<?>) geometry;
+        putHeader(geometryType, Dimension.XY, collection.size());
+        for (int i = 0; i < collection.size(); i++) {
+          encode(collection.get(i));
+        }
+      }
+    }
+  }
+
+  private void encodePoint(Point point) {
+    Dimension dimension = Dimension.of(point);
+    putHeader(WKTGeometryType.POINT, dimension, point.isEmpty() ? 0 : 1);
+    if (point.isEmpty()) {
+      return;
+    }
+
+    ensureCapacity(Double.BYTES * dimension.getStride());
+    record.putDouble(point.getX()).putDouble(point.getY());
+    if (dimension.hasZ()) {
+      record.putDouble(((PointZM) point).getZ());
+    }
+    if (dimension.hasM()) {
+      record.putDouble(((PointZM) point).getM());
+    }
+  }
+
+  private void encodeLineString(LineString lineString) {
+    Dimension dimension = Dimension.of(lineString);
+    int coordinateCount = lineString.getNumCoords();
+    putHeader(WKTGeometryType.LINESTRING, dimension, coordinateCount);
+
+    ensureCapacity((long) Double.BYTES * dimension.getStride() * coordinateCount);
+    for (int i = 0; i < coordinateCount; i++) {
+      record.putDouble(lineString.getX(i)).putDouble(lineString.getY(i));
+    }
+    if (dimension != Dimension.XY) {
+      LineStringZM lineStringZM = (LineStringZM) lineString;
+      for (int i = 0; i < coordinateCount; i++) {
+        if (dimension.hasZ()) {
+          record.putDouble(lineStringZM.getZ(i));
+        }
+        if (dimension.hasM()) {
+          record.putDouble(lineStringZM.getM(i));
+        }
+      }
+    }
+  }
+
+  private void putHeader(WKTGeometryType geometryType, Dimension dimension, int count) {
+    ensureCapacity(2 * Integer.BYTES);
+    record.putInt(GeometryTypeCodes.code(geometryType, dimension)).putInt(count);
+  }
+
+  private void ensureCapacity(long additionalBytes) {
+    long required = record.position() + additionalBytes;
+    if (required <= record.capacity()) {
+      return;
+    }
+    if (required > GeometryStore.MAX_RECORD_LENGTH) {
+      throw new IllegalArgumentException(String.format(
+          "Geometry does not fit into a record of at most %d bytes.",
+          GeometryStore.MAX_RECORD_LENGTH));
+    }
+
+    ByteBuffer grown = allocate((int) Math.min(GeometryStore.MAX_RECORD_LENGTH,
+        Math.max(required, 2L * record.capacity())));
+    record.flip();
+    grown.put(record);
+    record = grown;
+  }
+
+  private void writeFully(ByteBuffer buffer, long filePosition) throws IOException {
+    while (buffer.hasRemaining()) {
+      filePosition += channel.write(buffer, filePosition);
+    }
+  }
+
+  private static ByteBuffer allocate(int capacity) {
+    return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+  }
+}
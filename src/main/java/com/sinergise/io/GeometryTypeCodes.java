@@ -0,0 +1,58 @@
+package com.sinergise.io;
+
+import com.sinergise.io.WKTWriter.WKTGeometryType;
+
+/**
+ * ISO WKB geometry type codes: 1 to 7 for the geometry types, plus 1000 for Z, 2000 for M and
+ * 3000 for ZM coordinates.
+ */
+final class GeometryTypeCodes {
+
+  private static final WKTGeometryType[] TYPES = {
+      WKTGeometryType.POINT,
+      WKTGeometryType.LINESTRING,
+      WKTGeometryType.POLYGON,
+      WKTGeometryType.MULTIPOINT,
+      WKTGeometryType.MULTILINESTRING,
+      WKTGeometryType.MULTIPOLYGON,
+      WKTGeometryType.GEOMETRY_COLLECTION
+  };
+
+  private static final int DIMENSION_FACTOR = 1000;
+
+  private GeometryTypeCodes() {
+  }
+
+  static int code(WKTGeometryType geometryType, Dimension dimension) {
+    int dimensionCode = switch (dimension) {
+      case XY -> 0;
+      case XYZ -> 1;
+      case XYM -> 2;
+      case XYZM -> 3;
+    };
+    for (int i = 0; i < TYPES.length; i++) {
+      if (TYPES[i] == geometryType) {
+        return dimensionCode * DIMENSION_FACTOR + i + 1;
+      }
+    }
+    throw new IllegalStateException("Unexpected geometry type: " + geometryType);
+  }
+
+  static WKTGeometryType geometryType(int code) {
+    int typeCode = code % DIMENSION_FACTOR;
+    if (code < 0 || typeCode < 1 || typeCode > TYPES.length) {
+      throw new IllegalArgumentException("Unknown geometry type code: " + code);
+    }
+    return TYPES[typeCode - 1];
+  }
+
+  static Dimension dimension(int code) {
+    return switch (code / DIMENSION_FACTOR) {
+      case 0 -> Dimension.XY;
+      case 1 -> Dimension.XYZ;
+      case 2 -> Dimension.XYM;
+      case 3 -> Dimension.XYZM;
+      default -> throw new IllegalArgumentException("Unknown geometry type code: " + code);
+    };
+  }
+}
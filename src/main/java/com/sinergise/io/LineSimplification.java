@@ -0,0 +1,19 @@
+package com.sinergise.io;
+
+/**
+ * Line simplification algorithms {@link WKTWriter} can apply to line strings and polygon rings
+ * while writing them.
+ */
+public enum LineSimplification {
+  /**
+   * Douglas-Peucker: keeps every vertex that is farther than the tolerance from the simplified
+   * line. Preserves the overall shape well.
+   */
+  DOUGLAS_PEUCKER,
+  /**
+   * Visvalingam-Whyatt: repeatedly removes the vertex whose triangle with its neighbours has the
+   * smallest area, while that area is below the square of the tolerance. Produces smoother
+   * outlines.
+   */
+  VISVALINGAM_WHYATT
+}
@@ -0,0 +1,270 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.LineString;
+import java.util.Arrays;
+
+/**
+ * Computes which vertices of a line string remain after simplification, without creating a
+ * simplified copy. The end points are always kept. Rings keep at least four vertices, so they stay
+ * closed and non-degenerate. All working arrays are reused between line strings, so an instance
+ * must not be shared between threads.
+ */
+final class LineSimplifier {
+
+  private static final int MIN_RING_VERTICES = 4;
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final LineSimplification simplification;
+  private final double tolerance;
+
+  private boolean[] kept = new boolean[INITIAL_CAPACITY];
+
+  private int[] intervals = new int[INITIAL_CAPACITY];
+
+  private double[] areas = new double[INITIAL_CAPACITY];
+  private int[] previous = new int[INITIAL_CAPACITY];
+  private int[] next = new int[INITIAL_CAPACITY];
+  private double[] heapAreas = new double[INITIAL_CAPACITY];
+  private int[] heapVertices = new int[INITIAL_CAPACITY];
+  private int heapSize;
+
+  LineSimplifier(LineSimplification simplification, double tolerance) {
+    this.simplification = simplification;
+    this.tolerance = tolerance;
+  }
+
+  /**
+   * Returns a mask of the vertices that are kept, valid until the next call. Only the first
+   * {@code lineString.getNumCoords()} elements are meaningful.
+   */
+  boolean[] simplify(LineString lineString, boolean ring) {
+    int vertexCount = lineString.getNumCoords();
+    if (kept.length < vertexCount) {
+      kept = new boolean[Math.max(vertexCount, 2 * kept.length)];
+    }
+
+    if (vertexCount <= (ring ? MIN_RING_VERTICES : 2)) {
+      Arrays.fill(kept, 0, vertexCount, true);
+      return kept;
+    }
+
+    Arrays.fill(kept, 0, vertexCount, false);
+    switch (simplification) {
+      case DOUGLAS_PEUCKER -> simplifyDouglasPeucker(lineString, vertexCount, ring);
+      case VISVALINGAM_WHYATT -> simplifyVisvalingamWhyatt(lineString, vertexCount, ring);
+    }
+    return kept;
+  }
+
+  private void simplifyDouglasPeucker(LineString lineString, int vertexCount, boolean ring) {
+    int last = vertexCount - 1;
+    kept[0] = true;
+    kept[last] = true;
+
+    int intervalCount = 0;
+    if (ring) {
+      // The first and last vertex coincide, so two more vertices are needed to keep an area.
+      int farthest = 1;
+      double farthestDistance = -1;
+      for (int i = 1; i < last; i++) {
+        double distance = squaredDistance(lineString, i, 0);
+        if (distance > farthestDistance) {
+          farthest = i;
+          farthestDistance = distance;
+        }
+      }
+
+      int opposite = farthest == 1 ? 2 : 1;
+      double oppositeDistance = -1;
+      for (int i = 1; i < last; i++) {
+        if (i == farthest) {
+          continue;
+        }
+        double distance = squaredSegmentDistance(lineString, i, 0, farthest);
+        if (distance > oppositeDistance) {
+          opposite = i;
+          oppositeDistance = distance;
+        }
+      }
+
+      int first = Math.min(farthest, opposite);
+      int second = Math.max(farthest, opposite);
+      kept[first] = true;
+      kept[second] = true;
+      intervalCount = pushInterval(intervalCount, 0, first);
+      intervalCount = pushInterval(intervalCount, first, second);
+      intervalCount = pushInterval(intervalCount, second, last);
+    } else {
+      intervalCount = pushInterval(intervalCount, 0, last);
+    }
+
+    double squaredTolerance = tolerance * tolerance;
+    while (intervalCount > 0) {
+      int end = intervals[--intervalCount];
+      int start = intervals[--intervalCount];
+
+      int farthest = -1;
+      double farthestDistance = squaredTolerance;
+      for (int i = start + 1; i < end; i++) {
+        double distance = squaredSegmentDistance(lineString, i, start, end);
+        if (distance > farthestDistance) {
+          farthest = i;
+          farthestDistance = distance;
+        }
+      }
+
+      if (farthest >= 0) {
+        kept[farthest] = true;
+        intervalCount = pushInterval(intervalCount, start, farthest);
+        intervalCount = pushInterval(intervalCount, farthest, end);
+      }
+    }
+  }
+
+  private int pushInterval(int intervalCount, int start, int end) {
+    if (end - start < 2) {
+      return intervalCount;
+    }
+    if (intervalCount + 2 > intervals.length) {
+      intervals = Arrays.copyOf(intervals, 2 * intervals.length);
+    }
+    intervals[intervalCount++] = start;
+    intervals[intervalCount++] = end;
+    return intervalCount;
+  }
+
+  private void simplifyVisvalingamWhyatt(LineString lineString, int vertexCount, boolean ring) {
+    if (areas.length < vertexCount) {
+      int capacity = Math.max(vertexCount, 2 * areas.length);
+      areas = new double[capacity];
+      previous = new int[capacity];
+      next = new int[capacity];
+    }
+
+    int last = vertexCount - 1;
+    heapSize = 0;
+    for (int i = 0; i <= last; i++) {
+      kept[i] = true;
+      previous[i] = i - 1;
+      next[i] = i + 1;
+      if (i > 0 && i < last) {
+        areas[i] = triangleArea(lineString, i - 1, i, i + 1);
+        pushVertex(areas[i], i);
+      }
+    }
+
+    double areaTolerance = tolerance * tolerance;
+    int minVertexCount = ring ? MIN_RING_VERTICES : 2;
+    int keptCount = vertexCount;
+    while (heapSize > 0 && keptCount > minVertexCount) {
+      double area = heapAreas[0];
+      int vertex = pollVertex();
+      if (!kept[vertex] || area != areas[vertex]) {
+        continue;
+      }
+      if (area >= areaTolerance) {
+        break;
+      }
+
+      kept[vertex] = false;
+      keptCount--;
+      int before = previous[vertex];
+      int after = next[vertex];
+      next[before] = after;
+      previous[after] = before;
+
+      if (before > 0) {
+        updateArea(lineString, before, area);
+      }
+      if (after < last) {
+        updateArea(lineString, after, area);
+      }
+    }
+  }
+
+  /**
+   * Recomputes the area of a neighbour of a removed vertex. The area never drops below that of
+   * the removed vertex, so vertices are removed in order of increasing area.
+   */
+  private void updateArea(LineString lineString, int vertex, double removedArea) {
+    double area = Math.max(removedArea,
+        triangleArea(lineString, previous[vertex], vertex, next[vertex]));
+    areas[vertex] = area;
+    pushVertex(area, vertex);
+  }
+
+  private void pushVertex(double area, int vertex) {
+    if (heapSize == heapAreas.length) {
+      heapAreas = Arrays.copyOf(heapAreas, 2 * heapSize);
+      heapVertices = Arrays.copyOf(heapVertices, 2 * heapSize);
+    }
+
+    int i = heapSize++;
+    while (i > 0 && heapAreas[(i - 1) / 2] > area) {
+      heapAreas[i] = heapAreas[(i - 1) / 2];
+      heapVertices[i] = heapVertices[(i - 1) / 2];
+      i = (i - 1) / 2;
+    }
+    heapAreas[i] = area;
+    heapVertices[i] = vertex;
+  }
+
+  private int pollVertex() {
+    int head = heapVertices[0];
+    heapSize--;
+    double area = heapAreas[heapSize];
+    int vertex = heapVertices[heapSize];
+
+    int i = 0;
+    while (2 * i + 1 < heapSize) {
+      int child = 2 * i + 1;
+      if (child + 1 < heapSize && heapAreas[child + 1] < heapAreas[child]) {
+        child++;
+      }
+      if (heapAreas[child] >= area) {
+        break;
+      }
+      heapAreas[i] = heapAreas[child];
+      heapVertices[i] = heapVertices[child];
+      i = child;
+    }
+    heapAreas[i] = area;
+    heapVertices[i] = vertex;
+
+    return head;
+  }
+
+  private static double triangleArea(LineString lineString, int a, int b, int c) {
+    double ax = lineString.getX(a);
+    double ay = lineString.getY(a);
+    return Math.abs((lineString.getX(b) - ax) * (lineString.getY(c) - ay)
+        - (lineString.getX(c) - ax) * (lineString.getY(b) - ay)) / 2;
+  }
+
+  private static double squaredDistance(LineString lineString, int a, int b) {
+    double dx = lineString.getX(a) - lineString.getX(b);
+    double dy = lineString.getY(a) - lineString.getY(b);
+    return dx * dx + dy * dy;
+  }
+
+  /**
+   * Returns the squared distance of vertex {@code i} from the segment between the vertices
+   * {@code start} and {@code end}.
+   */
+  private static double squaredSegmentDistance(LineString lineString, int i, int start,
+      int end) {
+    double startX = lineString.getX(start);
+    double startY = lineString.getY(start);
+    double dx = lineString.getX(end) - startX;
+    double dy = lineString.getY(end) - startY;
+    double px = lineString.getX(i) - startX;
+    double py = lineString.getY(i) - startY;
+
+    double segmentLength = dx * dx + dy * dy;
+    double t = segmentLength == 0 ? 0 : Math.max(0, Math.min(1, (px * dx + py * dy)
+        / segmentLength));
+    double ex = px - t * dx;
+    double ey = py - t * dy;
+    return ex * ex + ey * ey;
+  }
+}
@@ -0,0 +1,57 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.LineString;
+
+/**
+ * Line string with Z and/or M ordinates in addition to X and Y. The X/Y coordinates are held by
+ * {@link LineString}; the remaining ordinates are kept in one flat array with a stride of
+ * {@code dimension.getStride() - 2}, Z before M, so no vertex is stored twice.
+ */
+public class LineStringZM extends LineString {
+
+  private final Dimension dimension;
+  private final double[] ordinates;
+
+  /**
+   * Creates an empty line string of the given dimension.
+   */
+  public LineStringZM(final Dimension dimension) {
+    this.dimension = dimension;
+    this.ordinates = new double[0];
+  }
+
+  /**
+   * Creates a line string from interleaved X/Y coordinates and the interleaved Z/M ordinates of
+   * the same vertices.
+   */
+  public LineStringZM(final Dimension dimension, final double[] coordinates,
+      final double[] ordinates) {
+    super(coordinates);
+    if (ordinates.length != (coordinates.length / 2) * (dimension.getStride() - 2)) {
+      throw new IllegalArgumentException(String.format(
+          "Expected %d Z/M ordinates for %d %s vertices. Got: %d",
+          (coordinates.length / 2) * (dimension.getStride() - 2), coordinates.length / 2,
+          dimension, ordinates.length));
+    }
+    this.dimension = dimension;
+    this.ordinates = ordinates;
+  }
+
+  public Dimension getDimension() {
+    return dimension;
+  }
+
+  /**
+   * Returns the Z ordinate of the vertex, or {@link Double#NaN} if the dimension has none.
+   */
+  public double getZ(int i) {
+    return dimension.hasZ() ? ordinates[i * (dimension.getStride() - 2)] : Double.NaN;
+  }
+
+  /**
+   * Returns the M ordinate of the vertex, or {@link Double#NaN} if the dimension has none.
+   */
+  public double getM(int i) {
+    return dimension.hasM() ? ordinates[(i + 1) * (dimension.getStride() - 2) - 1] : Double.NaN;
+  }
+}
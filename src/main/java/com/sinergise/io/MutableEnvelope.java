@@ -0,0 +1,55 @@
+package com.sinergise.io;
+
+/**
+ * Envelope that grows as coordinates are included, used to track the extent of a geometry while
+ * it is scanned or parsed.
+ */
+final class MutableEnvelope {
+
+  private double minX;
+  private double minY;
+  private double maxX;
+  private double maxY;
+
+  MutableEnvelope() {
+    reset();
+  }
+
+  void reset() {
+    minX = Double.POSITIVE_INFINITY;
+    minY = Double.POSITIVE_INFINITY;
+    maxX = Double.NEGATIVE_INFINITY;
+    maxY = Double.NEGATIVE_INFINITY;
+  }
+
+  void include(double x, double y) {
+    minX = Math.min(minX, x);
+    maxX = Math.max(maxX, x);
+    minY = Math.min(minY, y);
+    maxY = Math.max(maxY, y);
+  }
+
+  boolean isEmpty() {
+    return !(minX <= maxX);
+  }
+
+  boolean intersects(Envelope envelope) {
+    return !isEmpty() && envelope.intersects(minX, minY, maxX, maxY);
+  }
+
+  double getMinX() {
+    return minX;
+  }
+
+  double getMinY() {
+    return minY;
+  }
+
+  double getMaxX() {
+    return maxX;
+  }
+
+  double getMaxY() {
+    return maxY;
+  }
+}
@@ -0,0 +1,373 @@
+package com.sinergise.io;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Static R-tree packed with the Sort-Tile-Recursive algorithm. Items are identified by their
+ * index in the envelope arrays the tree is built from. All nodes are stored in flat primitive
+ * arrays: the items first, in STR order, followed by the nodes of every higher level, with the
+ * root last. Items with an empty envelope ({@code minX > maxX} or NaN) are not indexed.
+ */
+public class PackedRTree {
+
+  public static final int DEFAULT_NODE_CAPACITY = 16;
+
+  private static final int INSERTION_SORT_THRESHOLD = 16;
+
+  private final int nodeCapacity;
+  private final int itemCount;
+  private final double[] boxes;
+  private final int[] firstChildren;
+  private final int[] childCounts;
+
+  public PackedRTree(double[] minX, double[] minY, double[] maxX, double[] maxY, int size) {
+    this(minX, minY, maxX, maxY, size, DEFAULT_NODE_CAPACITY);
+  }
+
+  /**
+   * Builds the tree over the first {@code size} envelopes of the given arrays, with at most
+   * {@code nodeCapacity} children per node.
+   */
+  public PackedRTree(double[] minX, double[] minY, double[] maxX, double[] maxY, int size,
+      int nodeCapacity) {
+    if (nodeCapacity < 2) {
+      throw new IllegalArgumentException("Node capacity must be at least 2. Got: " + nodeCapacity);
+    }
+    this.nodeCapacity = nodeCapacity;
+
+    int[] items = new int[size];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      if (minX[i] <= maxX[i] && minY[i] <= maxY[i]) {
+        items[count++] = i;
+      }
+    }
+    this.itemCount = count;
+
+    int nodeCount = count;
+    for (int levelCount = count; levelCount > 0; ) {
+      levelCount = ceilDivide(levelCount, nodeCapacity);
+      nodeCount += levelCount;
+      if (levelCount == 1) {
+        break;
+      }
+    }
+
+    this.boxes = new double[4 * nodeCount];
+    this.firstChildren = new int[nodeCount];
+    this.childCounts = new int[nodeCount];
+
+    for (int i = 0; i < count; i++) {
+      int item = items[i];
+      setBox(i, minX[item], minY[item], maxX[item], maxY[item]);
+      firstChildren[i] = item;
+    }
+
+    int levelStart = 0;
+    int levelCount = count;
+    while (levelStart + levelCount < nodeCount) {
+      sortTileRecursive(levelStart, levelCount);
+      int parentCount = packParents(levelStart, levelCount);
+      levelStart += levelCount;
+      levelCount = parentCount;
+    }
+  }
+
+  /**
+   * Returns the number of indexed items.
+   */
+  public int size() {
+    return itemCount;
+  }
+
+  /**
+   * Returns the indexes of all items whose envelope intersects the window, in no particular
+   * order.
+   */
+  public int[] query(Envelope window) {
+    IntArrayBuilder result = new IntArrayBuilder();
+    query(window, result::add);
+    return result.toArray();
+  }
+
+  /**
+   * Passes the index of every item whose envelope intersects the window to the consumer.
+   */
+  public void query(Envelope window, IntConsumer consumer) {
+    if (itemCount == 0) {
+      return;
+    }
+
+    int[] stack = new int[64];
+    int stackSize = 0;
+    stack[stackSize++] = firstChildren.length - 1;
+
+    while (stackSize > 0) {
+      int node = stack[--stackSize];
+      if (!window.intersects(boxes[4 * node], boxes[4 * node + 1], boxes[4 * node + 2],
+          boxes[4 * node + 3])) {
+        continue;
+      }
+
+      if (childCounts[node] == 0) {
+        consumer.accept(firstChildren[node]);
+        continue;
+      }
+
+      int firstChild = firstChildren[node];
+      if (stackSize + childCounts[node] > stack.length) {
+        stack = Arrays.copyOf(stack, Math.max(2 * stack.length, stackSize + childCounts[node]));
+      }
+      for (int child = firstChild; child < firstChild + childCounts[node]; child++) {
+        stack[stackSize++] = child;
+      }
+    }
+  }
+
+  /**
+   * Returns the index of the item whose envelope is nearest to the point, or -1 if the tree is
+   * empty.
+   */
+  public int nearest(double x, double y) {
+    int[] nearest = nearest(x, y, 1);
+    return nearest.length == 0 ? -1 : nearest[0];
+  }
+
+  /**
+   * Returns the indexes of the (at most) {@code k} items whose envelopes are nearest to the point,
+   * nearest first. The distance to an envelope is 0 for points inside it.
+   */
+  public int[] nearest(double x, double y, int k) {
+    IntArrayBuilder result = new IntArrayBuilder();
+    if (itemCount == 0 || k <= 0) {
+      return result.toArray();
+    }
+
+    NodeQueue queue = new NodeQueue();
+    int root = firstChildren.length - 1;
+    queue.add(squaredDistance(root, x, y), root);
+
+    while (!queue.isEmpty() && result.size() < k) {
+      int node = queue.poll();
+      if (childCounts[node] == 0) {
+        result.add(firstChildren[node]);
+        continue;
+      }
+
+      int firstChild = firstChildren[node];
+      for (int child = firstChild; child < firstChild + childCounts[node]; child++) {
+        queue.add(squaredDistance(child, x, y), child);
+      }
+    }
+
+    return result.toArray();
+  }
+
+  private double squaredDistance(int node, double x, double y) {
+    double dx = Math.max(0, Math.max(boxes[4 * node] - x, x - boxes[4 * node + 2]));
+    double dy = Math.max(0, Math.max(boxes[4 * node + 1] - y, y - boxes[4 * node + 3]));
+    return dx * dx + dy * dy;
+  }
+
+  /**
+   * Reorders the nodes of a level: sorted by x center into vertical slices of
+   * {@code sliceCount * nodeCapacity} nodes, and every slice sorted by y center.
+   */
+  private void sortTileRecursive(int levelStart, int levelCount) {
+    int[] order = new int[levelCount];
+    double[] centers = new double[levelCount];
+    for (int i = 0; i < levelCount; i++) {
+      order[i] = i;
+      centers[i] = boxes[4 * (levelStart + i)] + boxes[4 * (levelStart + i) + 2];
+    }
+    sort(order, centers, 0, levelCount);
+
+    int parentCount = ceilDivide(levelCount, nodeCapacity);
+    int sliceCount = (int) Math.ceil(Math.sqrt(parentCount));
+    int sliceSize = nodeCapacity * ceilDivide(parentCount, sliceCount);
+
+    for (int i = 0; i < levelCount; i++) {
+      centers[i] = boxes[4 * (levelStart + i) + 1] + boxes[4 * (levelStart + i) + 3];
+    }
+    for (int sliceStart = 0; sliceStart < levelCount; sliceStart += sliceSize) {
+      sort(order, centers, sliceStart, Math.min(levelCount, sliceStart + sliceSize));
+    }
+
+    double[] sortedBoxes = new double[4 * levelCount];
+    int[] sortedFirstChildren = new int[levelCount];
+    int[] sortedChildCounts = new int[levelCount];
+    for (int i = 0; i < levelCount; i++) {
+      int node = levelStart + order[i];
+      System.arraycopy(boxes, 4 * node, sortedBoxes, 4 * i, 4);
+      sortedFirstChildren[i] = firstChildren[node];
+      sortedChildCounts[i] = childCounts[node];
+    }
+    System.arraycopy(sortedBoxes, 0, boxes, 4 * levelStart, 4 * levelCount);
+    System.arraycopy(sortedFirstChildren, 0, firstChildren, levelStart, levelCount);
+    System.arraycopy(sortedChildCounts, 0, childCounts, levelStart, levelCount);
+  }
+
+  /**
+   * Creates the parents of a level right after it and returns their number.
+   */
+  private int packParents(int levelStart, int levelCount) {
+    int parent = levelStart + levelCount;
+    for (int first = levelStart; first < levelStart + levelCount; first += nodeCapacity) {
+      int children = Math.min(nodeCapacity, levelStart + levelCount - first);
+      double minX = Double.POSITIVE_INFINITY;
+      double minY = Double.POSITIVE_INFINITY;
+      double maxX = Double.NEGATIVE_INFINITY;
+      double maxY = Double.NEGATIVE_INFINITY;
+      for (int child = first; child < first + children; child++) {
+        minX = Math.min(minX, boxes[4 * child]);
+        minY = Math.min(minY, boxes[4 * child + 1]);
+        maxX = Math.max(maxX, boxes[4 * child + 2]);
+        maxY = Math.max(maxY, boxes[4 * child + 3]);
+      }
+      setBox(parent, minX, minY, maxX, maxY);
+      firstChildren[parent] = first;
+      childCounts[parent] = children;
+      parent++;
+    }
+    return parent - levelStart - levelCount;
+  }
+
+  private void setBox(int node, double minX, double minY, double maxX, double maxY) {
+    boxes[4 * node] = minX;
+    boxes[4 * node + 1] = minY;
+    boxes[4 * node + 2] = maxX;
+    boxes[4 * node + 3] = maxY;
+  }
+
+  private static int ceilDivide(int dividend, int divisor) {
+    return (dividend + divisor - 1) / divisor;
+  }
+
+  /**
+   * Sorts {@code order[from, to)} by the keys of its elements, using a three-way quicksort.
+   */
+  private static void sort(int[] order, double[] keys, int from, int to) {
+    while (to - from > INSERTION_SORT_THRESHOLD) {
+      double pivot = medianOfThree(keys[order[from]], keys[order[(from + to) >>> 1]],
+          keys[order[to - 1]]);
+      int less = from;
+      int greater = to;
+      int i = from;
+      while (i < greater) {
+        double key = keys[order[i]];
+        if (key < pivot) {
+          swap(order, less++, i++);
+        } else if (key > pivot) {
+          swap(order, i, --greater);
+        } else {
+          i++;
+        }
+      }
+
+      if (less - from < to - greater) {
+        sort(order, keys, from, less);
+        from = greater;
+      } else {
+        sort(order, keys, greater, to);
+        to = less;
+      }
+    }
+
+    for (int i = from + 1; i < to; i++) {
+      int element = order[i];
+      int j = i;
+      while (j > from && keys[order[j - 1]] > keys[element]) {
+        order[j] = order[j - 1];
+        j--;
+      }
+      order[j] = element;
+    }
+  }
+
+  private static double medianOfThree(double a, double b, double c) {
+    return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+  }
+
+  private static void swap(int[] array, int i, int j) {
+    int element = array[i];
+    array[i] = array[j];
+    array[j] = element;
+  }
+
+  private static final class IntArrayBuilder {
+
+    private int[] elements = new int[16];
+    private int size;
+
+    private void add(int element) {
+      if (size == elements.length) {
+        elements = Arrays.copyOf(elements, 2 * size);
+      }
+      elements[size++] = element;
+    }
+
+    private int size() {
+      return size;
+    }
+
+    private int[] toArray() {
+      return Arrays.copyOf(elements, size);
+    }
+  }
+
+  /**
+   * Binary min-heap of nodes keyed by their distance.
+   */
+  private static final class NodeQueue {
+
+    private double[] distances = new double[64];
+    private int[] nodes = new int[64];
+    private int size;
+
+    private boolean isEmpty() {
+      return size == 0;
+    }
+
+    private void add(double distance, int node) {
+      if (size == nodes.length) {
+        distances = Arrays.copyOf(distances, 2 * size);
+        nodes = Arrays.copyOf(nodes, 2 * size);
+      }
+
+      int i = size++;
+      while (i > 0 && distances[(i - 1) / 2] > distance) {
+        distances[i] = distances[(i - 1) / 2];
+        nodes[i] = nodes[(i - 1) / 2];
+        i = (i - 1) / 2;
+      }
+      distances[i] = distance;
+      nodes[i] = node;
+    }
+
+    private int poll() {
+      int head = nodes[0];
+      size--;
+      double distance = distances[size];
+      int node = nodes[size];
+
+      int i = 0;
+      while (2 * i + 1 < size) {
+        int child = 2 * i + 1;
+        if (child + 1 < size && distances[child + 1] < distances[child]) {
+          child++;
+        }
+        if (distances[child] >= distance) {
+          break;
+        }
+        distances[i] = distances[child];
+        nodes[i] = nodes[child];
+        i = child;
+      }
+      distances[i] = distance;
+      nodes[i] = node;
+
+      return head;
+    }
+  }
+}
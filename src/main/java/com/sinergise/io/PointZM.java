@@ -0,0 +1,43 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Point;
+
+/**
+ * Point with a Z and/or M ordinate in addition to X and Y. Ordinates the dimension does not
+ * include are {@link Double#NaN}.
+ */
+public class PointZM extends Point {
+
+  private final Dimension dimension;
+  private final double z;
+  private final double m;
+
+  /**
+   * Creates an empty point of the given dimension.
+   */
+  public PointZM(final Dimension dimension) {
+    this.dimension = dimension;
+    this.z = Double.NaN;
+    this.m = Double.NaN;
+  }
+
+  public PointZM(final Dimension dimension, final double x, final double y, final double z,
+      final double m) {
+    super(x, y);
+    this.dimension = dimension;
+    this.z = dimension.hasZ() ? z : Double.NaN;
+    this.m = dimension.hasM() ? m : Double.NaN;
+  }
+
+  public Dimension getDimension() {
+    return dimension;
+  }
+
+  public double getZ() {
+    return z;
+  }
+
+  public double getM() {
+    return m;
+  }
+}
@@ -0,0 +1,31 @@
+package com.sinergise.io;
+
+/**
+ * Grid to which coordinates are snapped. An ordinate is rounded to the nearest multiple of
+ * {@code 1 / scale} away from the grid offset, e.g. a scale of 100 snaps metric coordinates to a
+ * 1 cm grid.
+ */
+public record PrecisionModel(double scale, double offsetX, double offsetY) {
+
+  public PrecisionModel {
+    if (!(scale > 0) || Double.isInfinite(scale)) {
+      throw new IllegalArgumentException("Scale must be positive and finite. Got: " + scale);
+    }
+  }
+
+  public PrecisionModel(double scale) {
+    this(scale, 0, 0);
+  }
+
+  public double makePreciseX(double x) {
+    return makePrecise(x, offsetX);
+  }
+
+  public double makePreciseY(double y) {
+    return makePrecise(y, offsetY);
+  }
+
+  private double makePrecise(double ordinate, double offset) {
+    return Math.floor((ordinate - offset) * scale + 0.5) / scale + offset;
+  }
+}
@@ -0,0 +1,8 @@
+package com.sinergise.io;
+
+public class WKBParseException extends RuntimeException {
+
+  public WKBParseException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,154 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+import com.sinergise.geometry.GeometryCollection;
+import com.sinergise.geometry.LineString;
+import com.sinergise.geometry.MultiLineString;
+import com.sinergise.geometry.MultiPoint;
+import com.sinergise.geometry.MultiPolygon;
+import com.sinergise.geometry.Point;
+import com.sinergise.geometry.Polygon;
+import com.sinergise.io.WKTWriter.WKTGeometryType;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads ISO WKB in either byte order. Geometries with Z or M ordinates are read as
+ * {@link PointZM} and {@link LineStringZM}; points with only NaN ordinates are read as empty.
+ */
+public class WKBReader {
+
+  /**
+   * Transforms the WKB bytes into a Geometry object.
+   */
+  public Geometry read(final byte[] wkb) {
+    ByteBuffer buffer = ByteBuffer.wrap(wkb);
+    try {
+      Geometry geometry = readGeometry(buffer);
+      if (buffer.hasRemaining()) {
+        throw new WKBParseException(String.format(
+            "Invalid WKB. Unexpected %d bytes after the geometry.", buffer.remaining()));
+      }
+      return geometry;
+    } catch (BufferUnderflowException e) {
+      throw new WKBParseException("Invalid WKB. Unexpected end of input.");
+    }
+  }
+
+  private Geometry readGeometry(ByteBuffer buffer) {
+    byte byteOrder = buffer.get();
+    if (byteOrder != 0 && byteOrder != 1) {
+      throw new WKBParseException("Invalid WKB. Unknown byte order: " + byteOrder);
+    }
+    buffer.order(byteOrder == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+
+    int code = buffer.getInt();
+    WKTGeometryType geometryType;
+    Dimension dimension;
+    try {
+      geometryType = GeometryTypeCodes.geometryType(code);
+      dimension = GeometryTypeCodes.dimension(code);
+    } catch (IllegalArgumentException e) {
+      throw new WKBParseException("Invalid WKB. " + e.getMessage());
+    }
+
+    return switch (geometryType) {
+      case POINT -> readPoint(buffer, dimension);
+      case LINESTRING -> readLineString(buffer, dimension);
+      case POLYGON -> readPolygon(buffer, dimension);
+      case MULTIPOINT -> new MultiPoint(readMembers(buffer, geometryType).toArray(new Point[0]));
+      case MULTILINESTRING ->
+          new MultiLineString(readMembers(buffer, geometryType).toArray(new LineString[0]));
+      case MULTIPOLYGON ->
+          new MultiPolygon(readMembers(buffer, geometryType).toArray(new Polygon[0]));
+      case GEOMETRY_COLLECTION -> new GeometryCollection<>(readMembers(buffer, geometryType));
+    };
+  }
+
+  private Point readPoint(ByteBuffer buffer, Dimension dimension) {
+    double[] ordinates = new double[dimension.getStride()];
+    boolean empty = true;
+    for (int i = 0; i < ordinates.length; i++) {
+      ordinates[i] = buffer.getDouble();
+      empty &= Double.isNaN(ordinates[i]);
+    }
+
+    if (dimension == Dimension.XY) {
+      return empty ? new Point() : new Point(ordinates[0], ordinates[1]);
+    }
+    return empty ? new PointZM(dimension) : new PointZM(dimension, ordinates[0], ordinates[1],
+        ordinates[2], ordinates[ordinates.length - 1]);
+  }
+
+  private LineString readLineString(ByteBuffer buffer, Dimension dimension) {
+    int coordinateCount = readCount(buffer, Double.BYTES * dimension.getStride());
+    if (coordinateCount == 0) {
+      return dimension == Dimension.XY ? new LineString() : new LineStringZM(dimension);
+    }
+
+    int ordinateCount = dimension.getStride() - 2;
+    double[] coordinates = new double[2 * coordinateCount];
+    double[] ordinates = new double[ordinateCount * coordinateCount];
+    for (int i = 0; i < coordinateCount; i++) {
+      coordinates[2 * i] = buffer.getDouble();
+      coordinates[2 * i + 1] = buffer.getDouble();
+      for (int j = 0; j < ordinateCount; j++) {
+        ordinates[ordinateCount * i + j] = buffer.getDouble();
+      }
+    }
+
+    return dimension == Dimension.XY ? new LineString(coordinates)
+        : new LineStringZM(dimension, coordinates, ordinates);
+  }
+
+  private Polygon readPolygon(ByteBuffer buffer, Dimension dimension) {
+    int ringCount = readCount(buffer, Integer.BYTES);
+    if (ringCount == 0) {
+      return new Polygon();
+    }
+
+    LineString outer = readLineString(buffer, dimension);
+    LineString[] holes = new LineString[ringCount - 1];
+    for (int i = 0; i < holes.length; i++) {
+      holes[i] = readLineString(buffer, dimension);
+    }
+    return new Polygon(outer, holes);
+  }
+
+  /**
+   * Reads the members of a collection, checking that every member of a multi geometry has its
+   * member type.
+   */
+  private <T extends Geometry> List<T> readMembers(ByteBuffer buffer,
+      WKTGeometryType collectionType) {
+    WKTGeometryType memberType = collectionType.getMemberType();
+    int memberCount = readCount(buffer, Byte.BYTES + Integer.BYTES);
+    List<T> members = new ArrayList<>(memberCount);
+    for (int i = 0; i < memberCount; i++) {
+      Geometry geometry = readGeometry(buffer);
+      if (memberType != null && WKTGeometryType.from(geometry) != memberType) {
+        throw new WKBParseException(String.format("Invalid WKB. A %s cannot contain a %s.",
+            collectionType, WKTGeometryType.from(geometry)));
+      }
+      @SuppressWarnings("unchecked")
+      T member = (T) geometry;
+      members.add(member);
+    }
+    return members;
+  }
+
+  /**
+   * Reads a count of elements, each at least {@code minimumElementLength} bytes long, rejecting
+   * counts the remaining input cannot hold.
+   */
+  private static int readCount(ByteBuffer buffer, int minimumElementLength) {
+    int count = buffer.getInt();
+    if (count < 0 || (long) count * minimumElementLength > buffer.remaining()) {
+      throw new WKBParseException("Invalid WKB. Invalid element count: " + count);
+    }
+    return count;
+  }
+}
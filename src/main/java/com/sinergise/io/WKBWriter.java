@@ -0,0 +1,119 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+import com.sinergise.geometry.GeometryCollection;
+import com.sinergise.geometry.LineString;
+import com.sinergise.geometry.Point;
+import com.sinergise.geometry.Polygon;
+import com.sinergise.io.WKTWriter.WKTGeometryType;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Writes geometries as little-endian ISO WKB. Z and M ordinates are written for geometries with
+ * that {@link Dimension}; empty points are written with NaN ordinates. Instances reuse their
+ * buffer and are not thread-safe.
+ */
+public class WKBWriter {
+
+  private static final byte LITTLE_ENDIAN = 1;
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_CAPACITY)
+      .order(ByteOrder.LITTLE_ENDIAN);
+
+  /**
+   * Returns the WKB of the geometry.
+   */
+  public byte[] write(final Geometry geometry) {
+    buffer.clear();
+    writeGeometry(geometry);
+    return Arrays.copyOf(buffer.array(), buffer.position());
+  }
+
+  private void writeGeometry(Geometry geometry) {
+    WKTGeometryType geometryType = WKTGeometryType.from(geometry);
+    Dimension dimension = Dimension.of(geometry);
+
+    ensureCapacity(Byte.BYTES + Integer.BYTES);
+    buffer.put(LITTLE_ENDIAN).putInt(GeometryTypeCodes.code(geometryType, dimension));
+
+    switch (geometryType) {
+      case POINT -> writePoint((Point) geometry, dimension);
+      case LINESTRING -> writeCoordinates((LineString) geometry, dimension);
+      case POLYGON -> {
+        Polygon polygon = (Polygon) geometry;
+        int ringCount = polygon.isEmpty() ? 0 : 1 + polygon.getNumHoles();
+        ensureCapacity(Integer.BYTES);
+        buffer.putInt(ringCount);
+        if (ringCount > 0) {
+          writeCoordinates(polygon.getOuter(), dimension);
+          for (int i = 0; i < polygon.getNumHoles(); i++) {
+            writeCoordinates(polygon.getHole(i), dimension);
+          }
+        }
+      }
+      case MULTIPOINT, MULTILINESTRING, MULTIPOLYGON, GEOMETRY_COLLECTION -> {
+        GeometryCollection<?> collection = (GeometryCollection<?>) geometry;
+        ensureCapacity(Integer.BYTES);
+        buffer.putInt(collection.size());
+        for (int i = 0; i < collection.size(); i++) {
+          writeGeometry(collection.get(i));
+        }
+      }
+    }
+  }
+
+  private void writePoint(Point point, Dimension dimension) {
+    ensureCapacity((long) Double.BYTES * dimension.getStride());
+    if (point.isEmpty()) {
+      for (int i = 0; i < dimension.getStride(); i++) {
+        buffer.putDouble(Double.NaN);
+      }
+      return;
+    }
+
+    buffer.putDouble(point.getX()).putDouble(point.getY());
+    if (dimension.hasZ()) {
+      buffer.putDouble(((PointZM) point).getZ());
+    }
+    if (dimension.hasM()) {
+      buffer.putDouble(((PointZM) point).getM());
+    }
+  }
+
+  private void writeCoordinates(LineString lineString, Dimension dimension) {
+    int coordinateCount = lineString.getNumCoords();
+    ensureCapacity(Integer.BYTES + (long) Double.BYTES * dimension.getStride() * coordinateCount);
+    buffer.putInt(coordinateCount);
+
+    LineStringZM lineStringZM =
+        lineString instanceof LineStringZM ? (LineStringZM) lineString : null;
+    for (int i = 0; i < coordinateCount; i++) {
+      buffer.putDouble(lineString.getX(i)).putDouble(lineString.getY(i));
+      if (dimension.hasZ()) {
+        buffer.putDouble(lineStringZM == null ? Double.NaN : lineStringZM.getZ(i));
+      }
+      if (dimension.hasM()) {
+        buffer.putDouble(lineStringZM == null ? Double.NaN : lineStringZM.getM(i));
+      }
+    }
+  }
+
+  private void ensureCapacity(long additionalBytes) {
+    long required = buffer.position() + additionalBytes;
+    if (required <= buffer.capacity()) {
+      return;
+    }
+    if (required > Integer.MAX_VALUE - 8) {
+      throw new IllegalArgumentException("Geometry is too large for WKB.");
+    }
+
+    ByteBuffer grown = ByteBuffer.allocate((int) Math.min(Integer.MAX_VALUE - 8,
+        Math.max(required, 2L * buffer.capacity()))).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.flip();
+    grown.put(buffer);
+    buffer = grown;
+  }
+}
@@ -0,0 +1,259 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Reads a stream of WKT records separated by whitespace, e.g. one geometry per line, and passes
+ * every geometry together with its zero-based record index to a consumer.
+ * <p>
+ * Reading can be restricted to a query window. Every record is then first scanned without
+ * creating tokens or coordinate arrays, tracking the envelope of its coordinates; only records
+ * whose envelope intersects the window are parsed. As soon as the envelope is known to intersect,
+ * coordinates are no longer evaluated. The window applies to the coordinates as written, before
+ * any coordinate transform or precision model of the reader is applied. Records that are skipped
+ * are not validated.
+ * <p>
+ * Reading can also skip duplicates. A {@link GeometryFingerprint} of every record is then
+ * computed during the same scan, and only records with a fingerprint not seen before are parsed.
+ * Only the 128-bit fingerprints are retained, not the geometries.
+ */
+public class WKTBulkReader {
+
+  private static final int BUFFER_SIZE = 8 * 1024;
+
+  private final WKTReader reader;
+
+  public WKTBulkReader() {
+    this(new WKTReader());
+  }
+
+  /**
+   * Creates a bulk reader that parses every record with the given reader.
+   */
+  public WKTBulkReader(final WKTReader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Reads all records of the input and returns the number of records read.
+   */
+  public long read(final Reader input, final ObjLongConsumer<Geometry> consumer)
+      throws IOException {
+    return read(input, null, consumer);
+  }
+
+  /**
+   * Reads the records of the input whose envelope intersects the query window and returns the
+   * number of scanned records, including the skipped ones.
+   */
+  public long read(final Reader input, final Envelope query,
+      final ObjLongConsumer<Geometry> consumer) throws IOException {
+    return read(input, query, null, false, consumer);
+  }
+
+  /**
+   * Reads the records of the input, skipping every record with the same
+   * {@link GeometryFingerprint} as an earlier one, i.e. the same geometry in a different
+   * formatting. Returns the number of scanned records, including the skipped ones.
+   */
+  public long readDistinct(final Reader input, final ObjLongConsumer<Geometry> consumer)
+      throws IOException {
+    return read(input, null, null, true, consumer);
+  }
+
+  /**
+   * Reads all records of the input into memory and indexes them with a {@link PackedRTree}.
+   */
+  public WKTLayer readLayer(final Reader input) throws IOException {
+    return readLayer(input, PackedRTree.DEFAULT_NODE_CAPACITY);
+  }
+
+  /**
+   * Reads all records of the input into memory and indexes them with a {@link PackedRTree} with
+   * the given node capacity. Envelopes are collected by the parser while it reads the
+   * coordinates, so geometries are not traversed again to build the tree.
+   */
+  public WKTLayer readLayer(final Reader input, final int nodeCapacity) throws IOException {
+    WKTLayer.Builder builder = new WKTLayer.Builder();
+    read(input, null, builder.getEnvelope(), false, (geometry, index) -> builder.add(geometry));
+    return builder.build(nodeCapacity);
+  }
+
+  /**
+   * Reads like {@link #read(Reader, Envelope, ObjLongConsumer)}, skipping duplicates if
+   * {@code distinct} is set, and fills the given envelope, if not {@code null}, with the extent
+   * of every parsed geometry before passing it to the consumer.
+   */
+  long read(final Reader input, final Envelope query, final MutableEnvelope envelope,
+      final boolean distinct, final ObjLongConsumer<Geometry> consumer) throws IOException {
+    RecordScanner scanner = new RecordScanner(query, envelope, distinct, consumer);
+    char[] buffer = new char[BUFFER_SIZE];
+
+    int charactersRead;
+    while ((charactersRead = input.read(buffer)) != -1) {
+      for (int i = 0; i < charactersRead; i++) {
+        scanner.accept(buffer[i]);
+      }
+    }
+    scanner.finish();
+
+    return scanner.recordIndex;
+  }
+
+  private final class RecordScanner {
+
+    private final Envelope query;
+    private final MutableEnvelope parsedEnvelope;
+    private final ObjLongConsumer<Geometry> consumer;
+    private final StringBuilder record = new StringBuilder();
+    private final MutableEnvelope scannedEnvelope = new MutableEnvelope();
+    private final FingerprintHasher fingerprintHasher;
+    private final FingerprintSet seenFingerprints;
+
+    private long recordIndex;
+
+    private boolean inRecord;
+    private int depth;
+    private int pendingWordStart = -1;
+    private int pendingNumberStart = -1;
+    private int ordinal;
+
+    private boolean intersects;
+    private double x;
+
+    private RecordScanner(Envelope query, MutableEnvelope parsedEnvelope, boolean distinct,
+        ObjLongConsumer<Geometry> consumer) {
+      this.query = query;
+      this.parsedEnvelope = parsedEnvelope;
+      this.consumer = consumer;
+      this.fingerprintHasher = distinct ? new FingerprintHasher() : null;
+      this.seenFingerprints = distinct ? new FingerprintSet() : null;
+      resetRecord();
+    }
+
+    private void accept(char character) {
+      if (pendingWordStart >= 0) {
+        if (WKTTokenizer.isWordCharacter(character)) {
+          record.append(character);
+          return;
+        }
+        if (endWord()) {
+          completeRecord();
+        }
+      } else if (pendingNumberStart >= 0) {
+        if (WKTTokenizer.isDigit(character) || character == '.') {
+          record.append(character);
+          return;
+        }
+        endNumber();
+      }
+
+      if (!inRecord) {
+        if (WKTTokenizer.isWhitespace(character)) {
+          return;
+        }
+        if (!WKTTokenizer.isLetter(character)) {
+          throw new WKTParseException(String.format(
+              "Unexpected character '%s' in record %d. Expected a token of type geometry.",
+              character, recordIndex));
+        }
+        inRecord = true;
+      }
+
+      int index = record.length();
+      record.append(character);
+
+      if (WKTTokenizer.isLetter(character)) {
+        pendingWordStart = index;
+      } else if (WKTTokenizer.isDigit(character) || character == '-') {
+        pendingNumberStart = index;
+      } else if (character == '(' || character == ')' || character == ',') {
+        if (fingerprintHasher != null) {
+          fingerprintHasher.addSymbol(character);
+        }
+        if (character == '(') {
+          depth++;
+          ordinal = 0;
+        } else if (character == ',') {
+          ordinal = 0;
+        } else if (--depth == 0) {
+          completeRecord();
+        }
+      }
+    }
+
+    private void finish() {
+      if (pendingWordStart >= 0 && endWord()) {
+        completeRecord();
+      } else if (pendingNumberStart >= 0) {
+        endNumber();
+      }
+
+      if (inRecord) {
+        throw new WKTParseException(String.format(
+            "Invalid WKT string. Input ended inside record %d.", recordIndex));
+      }
+    }
+
+    /**
+     * Ends the pending word and returns whether it is EMPTY outside of any parentheses, i.e. the
+     * end of the record.
+     */
+    private boolean endWord() {
+      int start = pendingWordStart;
+      pendingWordStart = -1;
+      if (fingerprintHasher != null) {
+        fingerprintHasher.addWord(record, start, record.length());
+      }
+      return depth == 0 && record.length() - start == 5
+          && Character.toUpperCase(record.charAt(start)) == 'E'
+          && Character.toUpperCase(record.charAt(start + 1)) == 'M'
+          && Character.toUpperCase(record.charAt(start + 2)) == 'P'
+          && Character.toUpperCase(record.charAt(start + 3)) == 'T'
+          && Character.toUpperCase(record.charAt(start + 4)) == 'Y';
+    }
+
+    private void endNumber() {
+      int start = pendingNumberStart;
+      pendingNumberStart = -1;
+      boolean extendEnvelope = query != null && !intersects && ordinal < 2;
+      if (extendEnvelope || fingerprintHasher != null) {
+        double value = FastDoubleParser.parse(record, start, record.length());
+        if (fingerprintHasher != null) {
+          fingerprintHasher.addNumber(value);
+        }
+        if (extendEnvelope && ordinal == 0) {
+          x = value;
+        } else if (extendEnvelope) {
+          scannedEnvelope.include(x, value);
+          intersects = scannedEnvelope.intersects(query);
+        }
+      }
+      ordinal++;
+    }
+
+    private void completeRecord() {
+      if ((query == null || intersects) && (seenFingerprints == null
+          || seenFingerprints.add(fingerprintHasher.getFingerprint()))) {
+        consumer.accept(reader.read(record.toString(), parsedEnvelope), recordIndex);
+      }
+      recordIndex++;
+      resetRecord();
+    }
+
+    private void resetRecord() {
+      record.setLength(0);
+      inRecord = false;
+      depth = 0;
+      ordinal = 0;
+      intersects = false;
+      scannedEnvelope.reset();
+      if (fingerprintHasher != null) {
+        fingerprintHasher.reset();
+      }
+    }
+  }
+}
@@ -0,0 +1,221 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the geometries of a WKT file, read without blocking through an
+ * {@link AsynchronousFileChannel}. The file holds WKT geometries separated by whitespace, e.g. one
+ * per line, as accepted by {@link WKTPushParser}.
+ * <p>
+ * Every subscriber reads the file independently. Chunks are only read while the subscriber has
+ * outstanding demand and no parsed geometries are waiting, so a slow subscriber holds at most one
+ * chunk and its geometries in memory. Parsing and all subscriber signals run on the given
+ * executor.
+ */
+public class WKTFilePublisher implements Flow.Publisher<Geometry> {
+
+  private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+  private final Path path;
+  private final Executor executor;
+  private final WKTReader reader;
+  private final int chunkSize;
+
+  public WKTFilePublisher(final Path path, final Executor executor) {
+    this(path, executor, new WKTReader(), DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Creates a publisher that parses with the settings of the given reader and reads the file in
+   * chunks of the given number of bytes.
+   */
+  public WKTFilePublisher(final Path path, final Executor executor, final WKTReader reader,
+      final int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Chunk size must be positive. Got: " + chunkSize);
+    }
+    this.path = path;
+    this.executor = executor;
+    this.reader = reader;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super Geometry> subscriber) {
+    AsynchronousFileChannel channel;
+    try {
+      channel = AsynchronousFileChannel.open(path, Set.of(StandardOpenOption.READ),
+          executor instanceof ExecutorService executorService ? executorService : null);
+    } catch (IOException | RuntimeException e) {
+      subscriber.onSubscribe(new ClosedSubscription());
+      subscriber.onError(e);
+      return;
+    }
+
+    subscriber.onSubscribe(new FileSubscription(subscriber, channel));
+  }
+
+  private final class FileSubscription implements Flow.Subscription,
+      CompletionHandler<Integer, Void> {
+
+    private final Flow.Subscriber<? super Geometry> subscriber;
+    private final AsynchronousFileChannel channel;
+    private final WKTPushParser parser = new WKTPushParser(reader);
+    private final ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger pendingDrains = new AtomicInteger();
+
+    private volatile boolean cancelled;
+    private volatile boolean chunkRead;
+    private volatile Throwable failure;
+
+    private long position;
+    private boolean endOfFileReached;
+    private boolean reading;
+    private boolean endOfFile;
+    private boolean terminated;
+
+    private FileSubscription(Flow.Subscriber<? super Geometry> subscriber,
+        AsynchronousFileChannel channel) {
+      this.subscriber = subscriber;
+      this.channel = channel;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        failure = new IllegalArgumentException(
+            "Requested number of geometries must be positive. Got: " + n);
+      } else {
+        demand.getAndAccumulate(n, (current, added) -> current + added < 0
+            ? Long.MAX_VALUE : current + added);
+      }
+      scheduleDrain();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      scheduleDrain();
+    }
+
+    @Override
+    public void completed(Integer bytesRead, Void attachment) {
+      if (bytesRead < 0) {
+        endOfFileReached = true;
+      } else {
+        position += bytesRead;
+      }
+      chunkRead = true;
+      scheduleDrain();
+    }
+
+    @Override
+    public void failed(Throwable exception, Void attachment) {
+      failure = exception;
+      chunkRead = true;
+      scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+      if (pendingDrains.getAndIncrement() == 0) {
+        executor.execute(this::drain);
+      }
+    }
+
+    /**
+     * Runs on the executor, never concurrently with itself, and performs all parsing and
+     * subscriber signalling.
+     */
+    private void drain() {
+      do {
+        if (!terminated) {
+          drainOnce();
+        }
+      } while (pendingDrains.decrementAndGet() != 0);
+    }
+
+    private void drainOnce() {
+      if (cancelled) {
+        terminate();
+        return;
+      }
+
+      try {
+        if (chunkRead) {
+          chunkRead = false;
+          reading = false;
+          if (failure != null) {
+            throw failure;
+          }
+          endOfFile = endOfFileReached;
+          parseChunk();
+        }
+
+        while (demand.get() > 0 && parser.available() > 0 && !cancelled) {
+          demand.decrementAndGet();
+          subscriber.onNext(parser.poll());
+        }
+
+        if (failure != null) {
+          throw failure;
+        }
+      } catch (Throwable e) {
+        terminate();
+        subscriber.onError(e);
+        return;
+      }
+
+      if (endOfFile && parser.available() == 0) {
+        terminate();
+        subscriber.onComplete();
+      } else if (demand.get() > 0 && parser.available() == 0 && !reading && !endOfFile) {
+        reading = true;
+        buffer.clear();
+        channel.read(buffer, position, null, this);
+      }
+    }
+
+    private void parseChunk() {
+      if (endOfFile) {
+        parser.finish();
+      } else {
+        buffer.flip();
+        parser.feed(buffer);
+      }
+    }
+
+    private void terminate() {
+      terminated = true;
+      try {
+        channel.close();
+      } catch (IOException e) {
+        // Nothing more is read from the channel.
+      }
+    }
+  }
+
+  private static final class ClosedSubscription implements Flow.Subscription {
+
+    @Override
+    public void request(long n) {
+    }
+
+    @Override
+    public void cancel() {
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Writes received geometries to a file as WKT, one geometry per line, through an
+ * {@link AsynchronousFileChannel}. Geometries are requested in batches; the next batch is only
+ * requested once the previous one has been written, so a slow disk slows down the publisher
+ * instead of filling up memory. The file is created or truncated on subscription.
+ */
+public class WKTFileSubscriber implements Flow.Subscriber<Geometry> {
+
+  private static final int DEFAULT_BATCH_SIZE = 256;
+  private static final char LINE_SEPARATOR = '\n';
+
+  private final Path path;
+  private final WKTWriter writer;
+  private final int batchSize;
+  private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+  private final CharArrayWriter batch = new CharArrayWriter();
+
+  private Flow.Subscription subscription;
+  private AsynchronousFileChannel channel;
+  private long position;
+  private int batchCount;
+  private CompletableFuture<Void> lastWrite = CompletableFuture.completedFuture(null);
+
+  public WKTFileSubscriber(final Path path) {
+    this(path, new WKTWriter(), DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Creates a subscriber that writes with the given writer and requests the given number of
+   * geometries at a time.
+   */
+  public WKTFileSubscriber(final Path path, final WKTWriter writer, final int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive. Got: " + batchSize);
+    }
+    this.path = path;
+    this.writer = writer;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Returns a future completed once all received geometries are written and the file is closed,
+   * or completed exceptionally if the publisher or a write fails.
+   */
+  public CompletableFuture<Void> getCompletion() {
+    return completion;
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    if (this.subscription != null) {
+      subscription.cancel();
+      return;
+    }
+    this.subscription = subscription;
+
+    try {
+      channel = AsynchronousFileChannel.open(path, StandardOpenOption.WRITE,
+          StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    } catch (IOException | RuntimeException e) {
+      subscription.cancel();
+      completion.completeExceptionally(e);
+      return;
+    }
+
+    subscription.request(batchSize);
+  }
+
+  @Override
+  public void onNext(Geometry geometry) {
+    writer.write(geometry, batch);
+    batch.append(LINE_SEPARATOR);
+
+    if (++batchCount == batchSize) {
+      lastWrite = writeBatch();
+      lastWrite.whenComplete((ignored, exception) -> {
+        if (exception == null) {
+          subscription.request(batchSize);
+        } else {
+          subscription.cancel();
+          close();
+          completion.completeExceptionally(exception);
+        }
+      });
+    }
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    close();
+    completion.completeExceptionally(throwable);
+  }
+
+  @Override
+  public void onComplete() {
+    lastWrite.thenCompose(ignored -> writeBatch()).whenComplete((ignored, exception) -> {
+      close();
+      if (exception == null) {
+        completion.complete(null);
+      } else {
+        completion.completeExceptionally(exception);
+      }
+    });
+  }
+
+  /**
+   * Writes the buffered batch after the previously written data. Only one batch is written at a
+   * time: the next one is requested, or the stream completed, after the returned future
+   * completes.
+   */
+  private CompletableFuture<Void> writeBatch() {
+    ByteBuffer bytes = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.US_ASCII));
+    batch.reset();
+    batchCount = 0;
+
+    CompletableFuture<Void> written = new CompletableFuture<>();
+    channel.write(bytes, position, null, new CompletionHandler<Integer, Void>() {
+      @Override
+      public void completed(Integer bytesWritten, Void attachment) {
+        position += bytesWritten;
+        if (bytes.hasRemaining()) {
+          channel.write(bytes, position, null, this);
+        } else {
+          written.complete(null);
+        }
+      }
+
+      @Override
+      public void failed(Throwable exception, Void attachment) {
+        written.completeExceptionally(exception);
+      }
+    });
+    return written;
+  }
+
+  private void close() {
+    try {
+      if (channel != null) {
+        channel.close();
+      }
+    } catch (IOException e) {
+      completion.completeExceptionally(e);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Geometries of a WKT file held in memory together with a {@link PackedRTree} over their
+ * envelopes. Tree items are record indexes, i.e. positions in {@link #getGeometries()}. Created by
+ * {@link WKTBulkReader#readLayer}.
+ */
+public class WKTLayer {
+
+  private final List<Geometry> geometries;
+  private final PackedRTree index;
+
+  private WKTLayer(List<Geometry> geometries, PackedRTree index) {
+    this.geometries = geometries;
+    this.index = index;
+  }
+
+  public List<Geometry> getGeometries() {
+    return geometries;
+  }
+
+  public PackedRTree getIndex() {
+    return index;
+  }
+
+  /**
+   * Returns the geometries whose envelope intersects the window, in record order.
+   */
+  public List<Geometry> query(Envelope window) {
+    int[] indexes = index.query(window);
+    Arrays.sort(indexes);
+
+    List<Geometry> result = new ArrayList<>(indexes.length);
+    for (int i : indexes) {
+      result.add(geometries.get(i));
+    }
+    return result;
+  }
+
+  /**
+   * Collects geometries and their envelopes while they are read, in growable primitive arrays.
+   */
+  static final class Builder {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final List<Geometry> geometries = new ArrayList<>();
+    private final MutableEnvelope envelope = new MutableEnvelope();
+
+    private double[] minX = new double[INITIAL_CAPACITY];
+    private double[] minY = new double[INITIAL_CAPACITY];
+    private double[] maxX = new double[INITIAL_CAPACITY];
+    private double[] maxY = new double[INITIAL_CAPACITY];
+
+    /**
+     * Returns the envelope the reader fills with the extent of the next geometry.
+     */
+    MutableEnvelope getEnvelope() {
+      return envelope;
+    }
+
+    /**
+     * Adds the geometry with the extent currently held in the envelope.
+     */
+    void add(Geometry geometry) {
+      int i = geometries.size();
+      if (i == minX.length) {
+        minX = Arrays.copyOf(minX, 2 * i);
+        minY = Arrays.copyOf(minY, 2 * i);
+        maxX = Arrays.copyOf(maxX, 2 * i);
+        maxY = Arrays.copyOf(maxY, 2 * i);
+      }
+      minX[i] = envelope.getMinX();
+      minY[i] = envelope.getMinY();
+      maxX[i] = envelope.getMaxX();
+      maxY[i] = envelope.getMaxY();
+      geometries.add(geometry);
+    }
+
+    WKTLayer build(int nodeCapacity) {
+      return new WKTLayer(geometries,
+          new PackedRTree(minX, minY, maxX, maxY, geometries.size(), nodeCapacity));
+    }
+  }
+}
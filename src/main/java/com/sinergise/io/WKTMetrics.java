@@ -0,0 +1,89 @@
+package com.sinergise.io;
+
+import com.sinergise.io.WKTWriter.WKTGeometryType;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics listener that keeps cumulative counters per geometry type and latency histograms of
+ * read and write operations.
+ */
+public class WKTMetrics implements WKTMetricsListener {
+
+  private final Map<WKTGeometryType, LongAdder> readCounts = createCounters();
+  private final Map<WKTGeometryType, LongAdder> writeCounts = createCounters();
+  private final LongAdder readChars = new LongAdder();
+  private final LongAdder writtenChars = new LongAdder();
+  private final LatencyHistogram readLatency = new LatencyHistogram();
+  private final LatencyHistogram writeLatency = new LatencyHistogram();
+
+  @Override
+  public void geometryRead(WKTGeometryType geometryType, long inputLength, long durationNanos) {
+    readCounts.get(geometryType).increment();
+    readChars.add(inputLength);
+    readLatency.record(durationNanos);
+  }
+
+  @Override
+  public void geometryWritten(WKTGeometryType geometryType, long outputLength,
+      long durationNanos) {
+    writeCounts.get(geometryType).increment();
+    writtenChars.add(outputLength);
+    writeLatency.record(durationNanos);
+  }
+
+  public long getReadCount() {
+    return sum(readCounts);
+  }
+
+  public long getReadCount(WKTGeometryType geometryType) {
+    return readCounts.get(geometryType).sum();
+  }
+
+  public long getReadChars() {
+    return readChars.sum();
+  }
+
+  /**
+   * Returns the histogram of read durations in nanoseconds.
+   */
+  public LatencyHistogram getReadLatency() {
+    return readLatency;
+  }
+
+  public long getWriteCount() {
+    return sum(writeCounts);
+  }
+
+  public long getWriteCount(WKTGeometryType geometryType) {
+    return writeCounts.get(geometryType).sum();
+  }
+
+  public long getWrittenChars() {
+    return writtenChars.sum();
+  }
+
+  /**
+   * Returns the histogram of write durations in nanoseconds.
+   */
+  public LatencyHistogram getWriteLatency() {
+    return writeLatency;
+  }
+
+  private static Map<WKTGeometryType, LongAdder> createCounters() {
+    Map<WKTGeometryType, LongAdder> counters = new EnumMap<>(WKTGeometryType.class);
+    for (WKTGeometryType geometryType : WKTGeometryType.values()) {
+      counters.put(geometryType, new LongAdder());
+    }
+    return counters;
+  }
+
+  private static long sum(Map<WKTGeometryType, LongAdder> counters) {
+    long sum = 0;
+    for (LongAdder counter : counters.values()) {
+      sum += counter.sum();
+    }
+    return sum;
+  }
+}
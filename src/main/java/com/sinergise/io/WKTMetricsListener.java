@@ -0,0 +1,25 @@
+package com.sinergise.io;
+
+import com.sinergise.io.WKTWriter.WKTGeometryType;
+
+/**
+ * Receives a notification for every geometry read by a {@link WKTReader} or written by a
+ * {@link WKTWriter}. Implementations must be thread-safe if shared between readers or writers
+ * used from several threads.
+ */
+public interface WKTMetricsListener {
+
+  /**
+   * Listener that ignores all notifications. Readers and writers do not measure anything while
+   * this listener is set.
+   */
+  WKTMetricsListener NONE = new WKTMetricsListener() {
+  };
+
+  default void geometryRead(WKTGeometryType geometryType, long inputLength, long durationNanos) {
+  }
+
+  default void geometryWritten(WKTGeometryType geometryType, long outputLength,
+      long durationNanos) {
+  }
+}
@@ -0,0 +1,177 @@
+package com.sinergise.io;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point formatting of coordinates. Produces the same text as {@code String.format("%.nf")}
+ * in the root locale, but writes into a char array and can compute the length of the text without
+ * producing it. With {@link WKTWriter#FULL_PRECISION}, values are formatted with the digits of
+ * {@link Double#toString(double)}, which read back as the same double, in plain notation.
+ */
+final class WKTNumberFormat {
+
+  private static final String NAN = "NaN";
+  private static final String INFINITY = "Infinity";
+
+  /**
+   * Upper bound of the scaled value for which the fast path is exact. Below it the error of the
+   * scaling multiplication stays far from the rounding tolerance.
+   */
+  private static final double MAX_FAST_SCALED_VALUE = 0x1p40;
+  private static final double ROUNDING_TIE_TOLERANCE = 1e-3;
+  private static final int MAX_FAST_PRECISION = 12;
+  private static final int MAX_INTEGER_DIGITS = 309;
+  private static final int MAX_FULL_PRECISION_FRACTION_DIGITS = 343;
+
+  private static final long[] POWERS_OF_TEN = new long[19];
+  private static final double[] SCALES = new double[MAX_FAST_PRECISION + 1];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+    for (int i = 0; i < SCALES.length; i++) {
+      SCALES[i] = POWERS_OF_TEN[i];
+    }
+  }
+
+  private WKTNumberFormat() {
+  }
+
+  /**
+   * Returns an upper bound of the length of any formatted value with the given precision.
+   */
+  static int maxLength(int precision) {
+    if (precision == WKTWriter.FULL_PRECISION) {
+      return 1 + MAX_INTEGER_DIGITS + 1 + MAX_FULL_PRECISION_FRACTION_DIGITS;
+    }
+    return 1 + MAX_INTEGER_DIGITS + 1 + precision;
+  }
+
+  /**
+   * Returns the number of characters the value is formatted to.
+   */
+  static int length(double value, int precision) {
+    if (Double.isNaN(value)) {
+      return NAN.length();
+    }
+
+    int sign = isNegative(value) ? 1 : 0;
+    if (Double.isInfinite(value)) {
+      return sign + INFINITY.length();
+    }
+    if (precision == WKTWriter.FULL_PRECISION) {
+      return sign + fullPrecision(Math.abs(value)).length();
+    }
+
+    long scaledValue = roundFast(Math.abs(value), precision);
+    if (scaledValue < 0) {
+      return sign + roundExact(Math.abs(value), precision).length();
+    }
+
+    int fractionLength = precision > 0 ? precision + 1 : 0;
+    return sign + digitCount(scaledValue / POWERS_OF_TEN[precision]) + fractionLength;
+  }
+
+  /**
+   * Formats the value into the buffer starting at the given position and returns the position
+   * after the last written character. The buffer must have room for {@link #maxLength(int)}
+   * characters.
+   */
+  static int format(double value, int precision, char[] buffer, int position) {
+    if (Double.isNaN(value)) {
+      return append(NAN, buffer, position);
+    }
+
+    if (isNegative(value)) {
+      buffer[position++] = '-';
+    }
+    if (Double.isInfinite(value)) {
+      return append(INFINITY, buffer, position);
+    }
+    if (precision == WKTWriter.FULL_PRECISION) {
+      return append(fullPrecision(Math.abs(value)), buffer, position);
+    }
+
+    long scaledValue = roundFast(Math.abs(value), precision);
+    if (scaledValue < 0) {
+      return append(roundExact(Math.abs(value), precision), buffer, position);
+    }
+
+    long powerOfTen = POWERS_OF_TEN[precision];
+    position = appendDigits(scaledValue / powerOfTen, buffer, position);
+    if (precision > 0) {
+      buffer[position++] = '.';
+      position = appendPaddedDigits(scaledValue % powerOfTen, precision, buffer, position);
+    }
+    return position;
+  }
+
+  /**
+   * Returns the absolute value scaled by 10^precision and rounded half up, or -1 if the result
+   * cannot be determined exactly in double arithmetic.
+   */
+  private static long roundFast(double absoluteValue, int precision) {
+    if (precision > MAX_FAST_PRECISION) {
+      return -1;
+    }
+
+    double scaled = absoluteValue * SCALES[precision];
+    if (!(scaled < MAX_FAST_SCALED_VALUE)) {
+      return -1;
+    }
+
+    double integerPart = Math.floor(scaled);
+    double fraction = scaled - integerPart;
+    if (Math.abs(fraction - 0.5) < ROUNDING_TIE_TOLERANCE) {
+      return -1;
+    }
+    return (long) integerPart + (fraction > 0.5 ? 1 : 0);
+  }
+
+  private static String roundExact(double absoluteValue, int precision) {
+    return new BigDecimal(Double.toString(absoluteValue))
+        .setScale(precision, RoundingMode.HALF_UP)
+        .toPlainString();
+  }
+
+  private static String fullPrecision(double absoluteValue) {
+    String text = Double.toString(absoluteValue);
+    if (text.indexOf('E') < 0) {
+      return text;
+    }
+    return new BigDecimal(text).stripTrailingZeros().toPlainString();
+  }
+
+  private static boolean isNegative(double value) {
+    return Double.doubleToRawLongBits(value) < 0;
+  }
+
+  private static int digitCount(long value) {
+    int count = 1;
+    while (count < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[count]) {
+      count++;
+    }
+    return count;
+  }
+
+  private static int appendDigits(long value, char[] buffer, int position) {
+    return appendPaddedDigits(value, digitCount(value), buffer, position);
+  }
+
+  private static int appendPaddedDigits(long value, int digits, char[] buffer, int position) {
+    int end = position + digits;
+    for (int i = end - 1; i >= position; i--) {
+      buffer[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+    return end;
+  }
+
+  private static int append(String text, char[] buffer, int position) {
+    text.getChars(0, text.length(), buffer, position);
+    return position + text.length();
+  }
+}
@@ -5,13 +5,17 @@ import static com.sinergise.io.WKTTokenType.EMPTY;
 import static com.sinergise.io.WKTTokenType.GEOMETRYCOLLECTION;
 import static com.sinergise.io.WKTTokenType.LEFT_PARENTHESES;
 import static com.sinergise.io.WKTTokenType.LINESTRING;
+import static com.sinergise.io.WKTTokenType.M;
 import static com.sinergise.io.WKTTokenType.MULTILINESTRING;
 import static com.sinergise.io.WKTTokenType.MULTIPOINT;
 import static com.sinergise.io.WKTTokenType.MULTIPOLYGON;
+import static com.sinergise.io.WKTTokenType.NUMBER;
 import static com.sinergise.io.WKTTokenType.POINT;
 import static com.sinergise.io.WKTTokenType.POLYGON;
 import static com.sinergise.io.WKTTokenType.RIGHT_PARENTHESES;
 import static com.sinergise.io.WKTTokenType.WHITESPACE;
+import static com.sinergise.io.WKTTokenType.Z;
+import static com.sinergise.io.WKTTokenType.ZM;
 
 import com.sinergise.geometry.Geometry;
 import com.sinergise.geometry.GeometryCollection;
@@ -25,19 +29,97 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Queue;
 import java.util.function.Supplier;
-import java.util.stream.DoubleStream;
 
 public class WKTParser {
 
   private static final int POINT_TOKEN_COUNT = 3;
+  private static final int MAX_ORDINATE_COUNT = 4;
+  static final int MIN_LINE_STRING_COORDINATES = 2;
+  static final int MIN_RING_COORDINATES = 4;
 
   private final Queue<WKTToken> tokens;
+  private final CoordinateBuffer coordinates = new CoordinateBuffer();
+  private final double[] coordinate = new double[MAX_ORDINATE_COUNT];
+
+  private PrecisionModel precisionModel;
+  private boolean removeRepeatedPoints;
+  private boolean force2D;
+  private CoordinateTransform coordinateTransform;
+  private MutableEnvelope envelope;
+  private FingerprintHasher fingerprintHasher;
+
+  /**
+   * Dimension of the tagged geometry being parsed, or {@code null} until it is either declared by
+   * the tag or inferred from the first coordinate.
+   */
+  private Dimension dimension;
 
   public WKTParser(final String WKT) {
-    this.tokens = WKTLexer.tokenize(WKT);
+    this(WKTLexer.tokenize(WKT));
+  }
+
+  WKTParser(final Queue<WKTToken> tokens) {
+    this.tokens = tokens;
+  }
+
+  /**
+   * Sets the grid every parsed coordinate is snapped to, or {@code null} to keep coordinates as
+   * they are written.
+   */
+  public void setPrecisionModel(PrecisionModel precisionModel) {
+    this.precisionModel = precisionModel;
+  }
+
+  /**
+   * Sets whether consecutive equal coordinates of a line string or ring are parsed as a single
+   * coordinate. Combined with a precision model this drops the vertices that snap to the same grid
+   * point. A line string left with fewer than 2 or a ring with fewer than 4 coordinates is
+   * rejected with a {@link WKTParseException}.
+   */
+  public void setRemoveRepeatedPoints(boolean removeRepeatedPoints) {
+    this.removeRepeatedPoints = removeRepeatedPoints;
+  }
+
+  /**
+   * Sets whether Z and M ordinates are dropped, so that every geometry is parsed as
+   * two-dimensional.
+   */
+  public void setForce2D(boolean force2D) {
+    this.force2D = force2D;
+  }
+
+  /**
+   * Sets the transform applied to every parsed coordinate sequence before the precision model, or
+   * {@code null} to keep coordinates as they are written.
+   */
+  public void setCoordinateTransform(CoordinateTransform coordinateTransform) {
+    this.coordinateTransform = coordinateTransform;
+  }
+
+  /**
+   * Sets the envelope that is reset and then grown by every parsed coordinate, or {@code null} to
+   * not track the extent.
+   */
+  void setEnvelope(MutableEnvelope envelope) {
+    this.envelope = envelope;
+  }
+
+  /**
+   * Sets the hasher that is reset and then fed the canonical form of every consumed token, or
+   * {@code null} to not compute a fingerprint.
+   */
+  void setFingerprintHasher(FingerprintHasher fingerprintHasher) {
+    this.fingerprintHasher = fingerprintHasher;
   }
 
   public Geometry parse() {
+    if (envelope != null) {
+      envelope.reset();
+    }
+    if (fingerprintHasher != null) {
+      fingerprintHasher.reset();
+    }
+
     Geometry geometry = parseGeometryTaggedText();
     if (!tokens.isEmpty()) {
       throw new WKTParseException("Invalid WKT string. Unconsumed tokens remain.");
@@ -62,7 +144,7 @@ public class WKTParser {
       case MULTIPOLYGON -> parseGeometryTaggedText(MULTIPOLYGON, this::parseMultiPolygonText);
       case GEOMETRYCOLLECTION ->
           parseGeometryTaggedText(GEOMETRYCOLLECTION, this::parseGeometryCollectionText);
-      case WHITESPACE, COMMA, EMPTY, LEFT_PARENTHESES,
+      case WHITESPACE, COMMA, EMPTY, Z, M, ZM, LEFT_PARENTHESES,
           RIGHT_PARENTHESES, NUMBER -> throw new WKTParseException(
           "Unexpected token. Expected a token of type geometry.");
     };
@@ -72,12 +154,44 @@ public class WKTParser {
       Supplier<Geometry> geometrySupplier) {
     consumeNextTokenOfType(tokenType);
     consumeNextTokenOfTypeIfExists(WHITESPACE);
-    return geometrySupplier.get();
+
+    Dimension enclosingDimension = dimension;
+    dimension = parseDimension();
+    Geometry geometry = geometrySupplier.get();
+    dimension = enclosingDimension;
+
+    return geometry;
+  }
+
+  private Dimension parseDimension() {
+    if (tokens.isEmpty()) {
+      return null;
+    }
+
+    Dimension declaredDimension = switch (tokens.peek().type()) {
+      case Z -> Dimension.XYZ;
+      case M -> Dimension.XYM;
+      case ZM -> Dimension.XYZM;
+      default -> null;
+    };
+    if (declaredDimension != null) {
+      nextToken();
+      consumeNextTokenOfTypeIfExists(WHITESPACE);
+    }
+    return declaredDimension;
+  }
+
+  /**
+   * Returns the dimension parsed geometries are created with.
+   */
+  private Dimension outputDimension() {
+    return force2D || dimension == null ? Dimension.XY : dimension;
   }
 
   private Point parsePointText() {
     if (checkAndRemoveNextTokenIfTypeEmpty()) {
-      return new Point();
+      Dimension outputDimension = outputDimension();
+      return outputDimension == Dimension.XY ? new Point() : new PointZM(outputDimension);
     }
 
     consumeNextTokenOfType(LEFT_PARENTHESES);
@@ -92,11 +206,74 @@ public class WKTParser {
       throw new WKTParseException("Invalid Point WKT string. Missing or malformed coordinates.");
     }
 
-    double coordinateX = Double.parseDouble(tokens.poll().value());
+    Dimension outputDimension = parseOrdinates();
+
+    coordinates.clear();
+    coordinates.add(coordinate, outputDimension.getStride());
+    finishCoordinates();
+
+    return coordinates.toPoint(outputDimension);
+  }
+
+  private void parseCoordinate() {
+    if (tokens.isEmpty() || tokens.size() < POINT_TOKEN_COUNT) {
+      throw new WKTParseException("Invalid LineString WKT string. Missing or malformed coordinates.");
+    }
+
+    Dimension outputDimension = parseOrdinates();
+    coordinates.add(coordinate, outputDimension.getStride());
+  }
+
+  private void finishCoordinates() {
+    coordinates.finish(coordinateTransform, precisionModel, removeRepeatedPoints, envelope);
+  }
+
+  /**
+   * Parses the ordinates of one coordinate into {@link #coordinate} and checks that their number
+   * matches the dimension, which is inferred from the first coordinate if it is not declared.
+   * Returns the dimension the coordinate is stored with.
+   */
+  private Dimension parseOrdinates() {
+    coordinate[0] = parseNumber();
     consumeNextTokenOfType(WHITESPACE);
-    double coordinateY = Double.parseDouble(tokens.poll().value());
+    coordinate[1] = parseNumber();
+
+    int ordinateCount = 2;
+    while (checkAndRemoveNextTokenIfTypeWhitespace() && checkNextTokenIsNumber()) {
+      if (ordinateCount == MAX_ORDINATE_COUNT) {
+        throw new WKTParseException(String.format(
+            "Invalid WKT string. A coordinate has more than %d ordinates.", MAX_ORDINATE_COUNT));
+      }
+      coordinate[ordinateCount++] = parseNumber();
+    }
+
+    if (dimension == null) {
+      dimension = switch (ordinateCount) {
+        case 2 -> Dimension.XY;
+        case 3 -> Dimension.XYZ;
+        default -> Dimension.XYZM;
+      };
+    } else if (ordinateCount != dimension.getStride()) {
+      throw new WKTParseException(String.format(
+          "Invalid WKT string. Expected %d ordinates per %s coordinate. Got %d.",
+          dimension.getStride(), dimension, ordinateCount));
+    }
+
+    return outputDimension();
+  }
 
-    return new Point(coordinateX, coordinateY);
+  private double parseNumber() {
+    WKTToken token = nextToken();
+    if (!NUMBER.equals(token.type())) {
+      throw new WKTParseException(String.format("Expected token of type '%s'. Got '%s' instead.",
+          NUMBER, token.type()));
+    }
+
+    double number = Double.parseDouble(token.value());
+    if (fingerprintHasher != null) {
+      fingerprintHasher.addNumber(number);
+    }
+    return number;
   }
 
   private MultiPoint parseMultiPointText() {
@@ -123,31 +300,37 @@ public class WKTParser {
   }
 
   private LineString parseLineStringText() {
+    return parseLineStringText(MIN_LINE_STRING_COORDINATES);
+  }
+
+  /**
+   * Parses a line string or, with a minimum of {@value #MIN_RING_COORDINATES} coordinates, a
+   * ring. Removing repeated points must not leave fewer than the minimum coordinates of a valid
+   * line string or ring, unless fewer were written.
+   */
+  private LineString parseLineStringText(int minimumCoordinates) {
     if (checkAndRemoveNextTokenIfTypeEmpty()) {
-      return new LineString();
+      Dimension outputDimension = outputDimension();
+      return outputDimension == Dimension.XY
+          ? new LineString() : new LineStringZM(outputDimension);
     }
 
     consumeNextTokenOfType(LEFT_PARENTHESES);
 
-    List<Point> points = new ArrayList<>(2);
+    coordinates.clear();
     while (!checkNextTokenIsRightParentheses()) {
-      Point point = parsePoint();
-
-      points.add(point);
+      parseCoordinate();
 
       consumeNextTokenOfTypeIfExists(COMMA);
       consumeNextTokenOfTypeIfExists(WHITESPACE);
     }
 
     consumeNextTokenOfType(RIGHT_PARENTHESES);
+    int parsedCoordinates = coordinates.getCoordinateCount();
+    finishCoordinates();
+    coordinates.checkNotCollapsed(parsedCoordinates, minimumCoordinates);
 
-    double[] coordinates = points.stream()
-        .flatMapToDouble(point -> DoubleStream.concat(
-            DoubleStream.of(point.getX()),
-            DoubleStream.of(point.getY())))
-        .toArray();
-
-    return new LineString(coordinates);
+    return coordinates.toLineString(outputDimension());
   }
 
   private MultiLineString parseMultiLineStringText() {
@@ -181,7 +364,7 @@ public class WKTParser {
 
     List<LineString> lineStrings = new ArrayList<>(2);
     while (!checkNextTokenIsRightParentheses()) {
-      LineString point = parseLineStringText();
+      LineString point = parseLineStringText(MIN_RING_COORDINATES);
 
       lineStrings.add(point);
 
@@ -248,9 +431,21 @@ public class WKTParser {
     return RIGHT_PARENTHESES.equals(tokens.peek().type());
   }
 
+  private boolean checkNextTokenIsNumber() {
+    return !tokens.isEmpty() && NUMBER.equals(tokens.peek().type());
+  }
+
+  private boolean checkAndRemoveNextTokenIfTypeWhitespace() {
+    if (!tokens.isEmpty() && WHITESPACE.equals(tokens.peek().type())) {
+      nextToken();
+      return true;
+    }
+    return false;
+  }
+
   private boolean checkAndRemoveNextTokenIfTypeEmpty() {
     if (!tokens.isEmpty() && EMPTY.equals(tokens.peek().type())) {
-      tokens.remove();
+      nextToken();
       return true;
     }
     return false;
@@ -263,7 +458,7 @@ public class WKTParser {
               tokenTypeToConsume));
     }
 
-    WKTToken token = tokens.poll();
+    WKTToken token = nextToken();
 
     if (!tokenTypeToConsume.equals(token.type())) {
       throw new WKTParseException(String.format("Expected token of type '%s'. Got '%s' instead.",
@@ -277,7 +472,30 @@ public class WKTParser {
     }
 
     if (tokens.peek().type().equals(tokenTypeToConsume)) {
-      tokens.remove();
+      nextToken();
+    }
+  }
+
+  /**
+   * Removes the next token and adds it to the fingerprint, if one is computed. Numbers are added
+   * by {@link #parseNumber()} once their value is known.
+   */
+  private WKTToken nextToken() {
+    WKTToken token = tokens.poll();
+    if (token == null) {
+      throw new WKTParseException("Invalid WKT string. Unexpected end of input.");
+    }
+    if (fingerprintHasher == null) {
+      return token;
+    }
+
+    switch (token.type()) {
+      case WHITESPACE, NUMBER -> {
+      }
+      case LEFT_PARENTHESES, RIGHT_PARENTHESES, COMMA ->
+          fingerprintHasher.addSymbol(token.value().charAt(0));
+      default -> fingerprintHasher.addWord(token.value(), 0, token.value().length());
     }
+    return token;
   }
 }
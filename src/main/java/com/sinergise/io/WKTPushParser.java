@@ -0,0 +1,425 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+import com.sinergise.geometry.GeometryCollection;
+import com.sinergise.geometry.LineString;
+import com.sinergise.geometry.MultiLineString;
+import com.sinergise.geometry.MultiPoint;
+import com.sinergise.geometry.MultiPolygon;
+import com.sinergise.geometry.Point;
+import com.sinergise.geometry.Polygon;
+import com.sinergise.io.WKTWriter.WKTGeometryType;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Incremental parser for a stream of WKT geometries separated by whitespace, e.g. one geometry per
+ * line. Input is pushed in chunks of any size as it arrives; a keyword or number split between
+ * chunks is carried over to the next chunk. Every geometry becomes available through
+ * {@link #poll()} as soon as its closing parenthesis has been fed. A geometry ending with EMPTY,
+ * e.g. {@code POINT EMPTY}, becomes available with the next character or with {@link #finish()},
+ * because only then is it known that the keyword has ended:
+ * <pre><code>
+ * WKTPushParser parser = new WKTPushParser();
+ * parser.feed(CharBuffer.wrap("POINT (4 6) LINESTR"));
+ * parser.poll(); // returns POINT (4 6)
+ * parser.feed(CharBuffer.wrap("ING (4 6, 7 10)"));
+ * parser.poll(); // returns LINESTRING (4 6, 7 10)
+ * </code></pre>
+ * Tokens are consumed by the grammar as soon as they are complete. Of the geometry currently being
+ * read, only its completed parts and the coordinates of the open line string, ring or point are
+ * held in memory. The parser is not thread-safe.
+ */
+public class WKTPushParser {
+
+  private static final int MAX_ORDINATE_COUNT = 4;
+
+  private final WKTReader reader;
+  private final WKTTokenizer tokenizer = new WKTTokenizer(this::acceptToken);
+  private final Queue<Geometry> geometries = new ArrayDeque<>();
+  private final Deque<TextFrame> frames = new ArrayDeque<>();
+  private final CoordinateBuffer coordinates = new CoordinateBuffer();
+  private final double[] coordinate = new double[MAX_ORDINATE_COUNT];
+
+  private int ordinateCount;
+  private boolean afterWhitespace;
+
+  /**
+   * Dimension of the innermost tagged geometry being read, or {@code null} until it is either
+   * declared by the tag or inferred from the first coordinate.
+   */
+  private Dimension dimension;
+
+  private int geometryStartIndex;
+  private WKTReadEvent event;
+  private long startNanos;
+  private boolean resetPosition;
+  private boolean finished;
+
+  public WKTPushParser() {
+    this(new WKTReader());
+  }
+
+  /**
+   * Creates a push parser that parses every geometry with the settings of the given reader.
+   */
+  public WKTPushParser(final WKTReader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Feeds all remaining characters of the chunk.
+   */
+  public void feed(final CharBuffer chunk) {
+    checkNotFinished();
+    while (chunk.hasRemaining()) {
+      feed(chunk.get());
+    }
+  }
+
+  /**
+   * Feeds all remaining bytes of the chunk. WKT is ASCII text, so every byte is fed as one
+   * character; bytes outside ASCII are never valid WKT and are rejected by the tokenizer.
+   */
+  public void feed(final ByteBuffer chunk) {
+    checkNotFinished();
+    while (chunk.hasRemaining()) {
+      feed((char) (chunk.get() & 0xFF));
+    }
+  }
+
+  /**
+   * Signals the end of input. Fails if the input ends inside a geometry.
+   */
+  public void finish() {
+    checkNotFinished();
+    finished = true;
+    tokenizer.finish();
+    if (!frames.isEmpty()) {
+      throw new WKTParseException("Invalid WKT string. Input ended inside a geometry.");
+    }
+  }
+
+  /**
+   * Returns the next completely parsed geometry, or {@code null} if none is available yet.
+   */
+  public Geometry poll() {
+    return geometries.poll();
+  }
+
+  /**
+   * Returns the number of parsed geometries not yet returned by {@link #poll()}.
+   */
+  public int available() {
+    return geometries.size();
+  }
+
+  private void feed(char character) {
+    tokenizer.feed(character);
+    // Positions restart after the character that completed a geometry has been counted.
+    if (resetPosition) {
+      tokenizer.resetPosition();
+      resetPosition = false;
+    }
+  }
+
+  private void acceptToken(WKTToken token) {
+    if (token.type() == WKTTokenType.WHITESPACE) {
+      afterWhitespace = true;
+      return;
+    }
+
+    if (frames.isEmpty()) {
+      afterWhitespace = false;
+      beginGeometry(token);
+    } else {
+      accept(frames.peek(), token);
+      afterWhitespace = false;
+    }
+  }
+
+  private void beginGeometry(WKTToken token) {
+    geometryStartIndex = token.endIndex() - token.value().length();
+    event = new WKTReadEvent();
+    startNanos = reader.beginRead(event);
+    beginTaggedText(token);
+  }
+
+  private void beginTaggedText(WKTToken token) {
+    WKTGeometryType geometryType = switch (token.type()) {
+      case POINT -> WKTGeometryType.POINT;
+      case LINESTRING -> WKTGeometryType.LINESTRING;
+      case POLYGON -> WKTGeometryType.POLYGON;
+      case MULTIPOINT -> WKTGeometryType.MULTIPOINT;
+      case MULTILINESTRING -> WKTGeometryType.MULTILINESTRING;
+      case MULTIPOLYGON -> WKTGeometryType.MULTIPOLYGON;
+      case GEOMETRYCOLLECTION -> WKTGeometryType.GEOMETRY_COLLECTION;
+      default -> throw new WKTParseException(
+          "Unexpected token. Expected a token of type geometry.");
+    };
+
+    frames.push(new TextFrame(geometryType, false, true, dimension, State.TAG));
+    dimension = null;
+  }
+
+  private void accept(TextFrame frame, WKTToken token) {
+    switch (frame.state) {
+      case TAG -> {
+        Dimension declaredDimension = switch (token.type()) {
+          case Z -> Dimension.XYZ;
+          case M -> Dimension.XYM;
+          case ZM -> Dimension.XYZM;
+          default -> null;
+        };
+        frame.state = State.TEXT;
+        if (declaredDimension != null) {
+          dimension = declaredDimension;
+        } else {
+          accept(frame, token);
+        }
+      }
+      case TEXT -> {
+        if (token.type() == WKTTokenType.EMPTY) {
+          complete(frame, createEmpty(frame.type), token);
+          return;
+        }
+        expect(WKTTokenType.LEFT_PARENTHESES, token);
+        if (frame.members == null) {
+          coordinates.clear();
+        }
+        frame.state = State.ITEM;
+      }
+      case ITEM -> acceptItem(frame, token);
+      case ORDINATE -> acceptOrdinate(frame, token);
+      case NEXT -> {
+        if (token.type() == WKTTokenType.COMMA) {
+          frame.state = State.ITEM;
+        } else if (token.type() == WKTTokenType.RIGHT_PARENTHESES) {
+          complete(frame, create(frame), token);
+        } else {
+          // Like WKTParser, members need not be separated by commas.
+          frame.state = State.ITEM;
+          acceptItem(frame, token);
+        }
+      }
+    }
+  }
+
+  private void acceptItem(TextFrame frame, WKTToken token) {
+    if (token.type() == WKTTokenType.RIGHT_PARENTHESES) {
+      complete(frame, create(frame), token);
+      return;
+    }
+
+    if (frame.members == null) {
+      expect(WKTTokenType.NUMBER, token);
+      coordinate[0] = parseNumber(token);
+      ordinateCount = 1;
+      frame.state = State.ORDINATE;
+      return;
+    }
+
+    if (frame.type == WKTGeometryType.GEOMETRY_COLLECTION) {
+      beginTaggedText(token);
+      return;
+    }
+
+    boolean ring = frame.type == WKTGeometryType.POLYGON;
+    WKTGeometryType memberType = ring ? WKTGeometryType.LINESTRING : frame.type.getMemberType();
+    TextFrame member = new TextFrame(memberType, ring, false, null, State.TEXT);
+    frames.push(member);
+    accept(member, token);
+  }
+
+  private void acceptOrdinate(TextFrame frame, WKTToken token) {
+    switch (token.type()) {
+      case NUMBER -> {
+        if (!afterWhitespace) {
+          throw new WKTParseException("Expected token of type 'WHITESPACE'. Got 'NUMBER' instead.");
+        }
+        if (ordinateCount == MAX_ORDINATE_COUNT) {
+          throw new WKTParseException(String.format(
+              "Invalid WKT string. A coordinate has more than %d ordinates.",
+              MAX_ORDINATE_COUNT));
+        }
+        coordinate[ordinateCount++] = parseNumber(token);
+      }
+      case COMMA -> {
+        endCoordinate();
+        if (frame.type == WKTGeometryType.POINT) {
+          throw new WKTParseException(
+              "Invalid Point WKT string. Missing or malformed coordinates.");
+        }
+        frame.state = State.ITEM;
+      }
+      case RIGHT_PARENTHESES -> {
+        endCoordinate();
+        complete(frame, create(frame), token);
+      }
+      default -> throw new WKTParseException(String.format(
+          "Expected token of type '%s'. Got '%s' instead.", WKTTokenType.NUMBER, token.type()));
+    }
+  }
+
+  /**
+   * Checks that the number of ordinates of the coordinate matches the dimension, which is inferred
+   * from the first coordinate if it is not declared, and buffers the coordinate.
+   */
+  private void endCoordinate() {
+    if (ordinateCount < 2) {
+      throw new WKTParseException("Invalid WKT string. A coordinate has fewer than 2 ordinates.");
+    }
+    if (dimension == null) {
+      dimension = switch (ordinateCount) {
+        case 2 -> Dimension.XY;
+        case 3 -> Dimension.XYZ;
+        default -> Dimension.XYZM;
+      };
+    } else if (ordinateCount != dimension.getStride()) {
+      throw new WKTParseException(String.format(
+          "Invalid WKT string. Expected %d ordinates per %s coordinate. Got %d.",
+          dimension.getStride(), dimension, ordinateCount));
+    }
+    coordinates.add(coordinate, outputDimension().getStride());
+  }
+
+  private Geometry create(TextFrame frame) {
+    return switch (frame.type) {
+      case POINT -> {
+        if (coordinates.getCoordinateCount() != 1) {
+          throw new WKTParseException(
+              "Invalid Point WKT string. Missing or malformed coordinates.");
+        }
+        finishCoordinates();
+        yield coordinates.toPoint(outputDimension());
+      }
+      case LINESTRING -> {
+        int parsedCoordinates = coordinates.getCoordinateCount();
+        finishCoordinates();
+        coordinates.checkNotCollapsed(parsedCoordinates, frame.ring
+            ? WKTParser.MIN_RING_COORDINATES : WKTParser.MIN_LINE_STRING_COORDINATES);
+        yield coordinates.toLineString(outputDimension());
+      }
+      case POLYGON -> {
+        if (frame.members.isEmpty()) {
+          throw new WKTParseException("Invalid Polygon WKT string. Missing rings.");
+        }
+        List<Geometry> holes = frame.members.subList(1, frame.members.size());
+        yield new Polygon((LineString) frame.members.get(0),
+            holes.toArray(new LineString[0]));
+      }
+      case MULTIPOINT -> new MultiPoint(frame.members.toArray(new Point[0]));
+      case MULTILINESTRING -> new MultiLineString(frame.members.toArray(new LineString[0]));
+      case MULTIPOLYGON -> new MultiPolygon(frame.members.toArray(new Polygon[0]));
+      case GEOMETRY_COLLECTION -> new GeometryCollection<>(frame.members);
+    };
+  }
+
+  private Geometry createEmpty(WKTGeometryType geometryType) {
+    Dimension outputDimension = outputDimension();
+    return switch (geometryType) {
+      case POINT -> outputDimension == Dimension.XY
+          ? new Point() : new PointZM(outputDimension);
+      case LINESTRING -> outputDimension == Dimension.XY
+          ? new LineString() : new LineStringZM(outputDimension);
+      case POLYGON -> new Polygon();
+      case MULTIPOINT -> new MultiPoint();
+      case MULTILINESTRING -> new MultiLineString();
+      case MULTIPOLYGON -> new MultiPolygon();
+      case GEOMETRY_COLLECTION -> new GeometryCollection<>();
+    };
+  }
+
+  /**
+   * Pops the completed frame and adds its geometry to the enclosing frame or, at the outermost
+   * level, to the parsed geometries.
+   */
+  private void complete(TextFrame frame, Geometry geometry, WKTToken lastToken) {
+    frames.pop();
+    if (frame.tagged) {
+      dimension = frame.enclosingDimension;
+    }
+
+    TextFrame parent = frames.peek();
+    if (parent != null) {
+      parent.members.add(geometry);
+      parent.state = State.NEXT;
+      return;
+    }
+
+    reader.endRead(event, startNanos, geometry, lastToken.endIndex() - geometryStartIndex);
+    event = null;
+    geometries.add(geometry);
+    resetPosition = true;
+  }
+
+  private void finishCoordinates() {
+    coordinates.finish(reader.getCoordinateTransform(), reader.getPrecisionModel(),
+        reader.isRemoveRepeatedPoints(), null);
+  }
+
+  private Dimension outputDimension() {
+    return reader.isForce2D() || dimension == null ? Dimension.XY : dimension;
+  }
+
+  private static double parseNumber(WKTToken token) {
+    return FastDoubleParser.parse(token.value(), 0, token.value().length());
+  }
+
+  private static void expect(WKTTokenType tokenType, WKTToken token) {
+    if (token.type() != tokenType) {
+      throw new WKTParseException(String.format("Expected token of type '%s'. Got '%s' instead.",
+          tokenType, token.type()));
+    }
+  }
+
+  private void checkNotFinished() {
+    if (finished) {
+      throw new IllegalStateException("End of input was already signalled.");
+    }
+  }
+
+  private enum State {
+    /** After the geometry keyword, where a dimension may be declared. */
+    TAG,
+    /** Before EMPTY or the opening parenthesis. */
+    TEXT,
+    /** Before a member or coordinate, or the closing parenthesis. */
+    ITEM,
+    /** Inside a coordinate. */
+    ORDINATE,
+    /** After a member, before a comma or the closing parenthesis. */
+    NEXT
+  }
+
+  /**
+   * Text of a geometry being read: a tagged geometry, or an untagged member or ring. Points and
+   * line strings keep their coordinates in the shared coordinate buffer; other geometries collect
+   * their completed members.
+   */
+  private static final class TextFrame {
+
+    private final WKTGeometryType type;
+    private final boolean ring;
+    private final boolean tagged;
+    private final Dimension enclosingDimension;
+    private final List<Geometry> members;
+    private State state;
+
+    private TextFrame(WKTGeometryType type, boolean ring, boolean tagged,
+        Dimension enclosingDimension, State state) {
+      this.type = type;
+      this.ring = ring;
+      this.tagged = tagged;
+      this.enclosingDimension = enclosingDimension;
+      this.members = type == WKTGeometryType.POINT || type == WKTGeometryType.LINESTRING
+          ? null : new ArrayList<>(2);
+      this.state = state;
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package com.sinergise.io;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.sinergise.io.WKTRead")
+@Label("WKT Read")
+@Description("Parsing of a WKT string into a Geometry")
+@Category({"Sinergise", "WKT"})
+@StackTrace(false)
+class WKTReadEvent extends jdk.jfr.Event {
+
+  @Label("Geometry Type")
+  String geometryType;
+
+  @Label("Input Length")
+  @Description("Number of characters parsed")
+  long inputLength;
+
+  @Label("Vertex Count")
+  long vertexCount;
+
+  @Label("Nesting Depth")
+  int nestingDepth;
+}
@@ -1,15 +1,147 @@
 package com.sinergise.io;
 
 import com.sinergise.geometry.Geometry;
+import com.sinergise.io.WKTWriter.WKTGeometryType;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.function.Supplier;
 
 public class WKTReader {
 
+  private WKTMetricsListener metricsListener = WKTMetricsListener.NONE;
+  private PrecisionModel precisionModel;
+  private boolean removeRepeatedPoints;
+  private boolean force2D;
+  private CoordinateTransform coordinateTransform;
+
   /**
    * Transforms the input WKT-formatted String into Geometry object
    */
   public Geometry read(String wktString) {
-    WKTParser parser = new WKTParser(wktString);
-    return parser.parse();
+    return read(() -> WKTLexer.tokenize(wktString), wktString.length(), null, null);
+  }
+
+  /**
+   * Parses like {@link #read(String)} and also computes the {@link GeometryFingerprint} of the
+   * WKT while parsing it, so duplicates written with different formatting can be detected without
+   * comparing geometries.
+   */
+  public FingerprintedGeometry readFingerprinted(String wktString) {
+    FingerprintHasher fingerprintHasher = new FingerprintHasher();
+    Geometry geometry = read(() -> WKTLexer.tokenize(wktString), wktString.length(), null,
+        fingerprintHasher);
+    return new FingerprintedGeometry(geometry, fingerprintHasher.getFingerprint());
+  }
+
+  /**
+   * Parses like {@link #read(String)} and fills the given envelope, if not {@code null}, with the
+   * extent of the parsed coordinates.
+   */
+  Geometry read(String wktString, MutableEnvelope envelope) {
+    return read(() -> WKTLexer.tokenize(wktString), wktString.length(), envelope, null);
+  }
+
+  private Geometry read(Supplier<Queue<WKTToken>> tokenSupplier, long inputLength,
+      MutableEnvelope envelope, FingerprintHasher fingerprintHasher) {
+    WKTReadEvent event = new WKTReadEvent();
+    long startNanos = beginRead(event);
+
+    WKTParser parser = new WKTParser(tokenSupplier.get());
+    parser.setPrecisionModel(precisionModel);
+    parser.setRemoveRepeatedPoints(removeRepeatedPoints);
+    parser.setForce2D(force2D);
+    parser.setCoordinateTransform(coordinateTransform);
+    parser.setEnvelope(envelope);
+    parser.setFingerprintHasher(fingerprintHasher);
+    Geometry geometry = parser.parse();
+
+    endRead(event, startNanos, geometry, inputLength);
+    return geometry;
+  }
+
+  /**
+   * Begins the event of a read and returns its start time for the metrics listener.
+   */
+  long beginRead(WKTReadEvent event) {
+    event.begin();
+    return metricsListener == WKTMetricsListener.NONE ? 0 : System.nanoTime();
+  }
+
+  /**
+   * Ends the event of a read started by {@link #beginRead} and reports the read geometry.
+   */
+  void endRead(WKTReadEvent event, long startNanos, Geometry geometry, long inputLength) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.geometryType = WKTGeometryType.from(geometry).getWKTTag();
+      event.inputLength = inputLength;
+      event.vertexCount = GeometryMeasures.vertexCount(geometry);
+      event.nestingDepth = GeometryMeasures.nestingDepth(geometry);
+      event.commit();
+    }
+    if (metricsListener != WKTMetricsListener.NONE) {
+      metricsListener.geometryRead(WKTGeometryType.from(geometry), inputLength,
+          System.nanoTime() - startNanos);
+    }
+  }
+
+  /**
+   * Sets the listener notified about every read geometry. Defaults to
+   * {@link WKTMetricsListener#NONE}.
+   */
+  public void setMetricsListener(WKTMetricsListener metricsListener) {
+    this.metricsListener = Objects.requireNonNull(metricsListener);
+  }
+
+  /**
+   * Sets the grid every coordinate is snapped to while parsing, or {@code null} (the default) to
+   * keep coordinates as they are written.
+   */
+  public void setPrecisionModel(PrecisionModel precisionModel) {
+    this.precisionModel = precisionModel;
+  }
+
+  /**
+   * Sets whether consecutive equal coordinates of line strings and rings, e.g. those snapped to
+   * the same grid point, are dropped while parsing. Geometries that would collapse below 2
+   * coordinates per line string or 4 per ring are rejected. Defaults to {@code false}.
+   */
+  public void setRemoveRepeatedPoints(boolean removeRepeatedPoints) {
+    this.removeRepeatedPoints = removeRepeatedPoints;
+  }
+
+  /**
+   * Sets whether Z and M ordinates are dropped while parsing, so that {@code LINESTRING Z} and
+   * similar are read as plain two-dimensional geometries without storing the extra ordinates.
+   * Defaults to {@code false}.
+   */
+  public void setForce2D(boolean force2D) {
+    this.force2D = force2D;
+  }
+
+  /**
+   * Sets the transform applied to the coordinates of every line string, ring and point as they are
+   * parsed, before the precision model, or {@code null} (the default) to keep coordinates as they
+   * are written. The transform works on the parser's coordinate buffer, so reprojecting on read
+   * creates no intermediate geometries.
+   */
+  public void setCoordinateTransform(CoordinateTransform coordinateTransform) {
+    this.coordinateTransform = coordinateTransform;
+  }
+
+  PrecisionModel getPrecisionModel() {
+    return precisionModel;
+  }
+
+  boolean isRemoveRepeatedPoints() {
+    return removeRepeatedPoints;
   }
 
+  boolean isForce2D() {
+    return force2D;
+  }
+
+  CoordinateTransform getCoordinateTransform() {
+    return coordinateTransform;
+  }
 }
@@ -9,6 +9,9 @@ public enum WKTTokenType {
   MULTIPOLYGON("\\b(MULTIPOLYGON)\\b"),
   GEOMETRYCOLLECTION("\\b(GEOMETRYCOLLECTION)\\b"),
   EMPTY("\\b(EMPTY)\\b"),
+  Z("\\b(Z)\\b"),
+  M("\\b(M)\\b"),
+  ZM("\\b(ZM)\\b"),
   LEFT_PARENTHESES("(\\()"),
   RIGHT_PARENTHESES("(\\))"),
   COMMA("(,)"),
@@ -0,0 +1,193 @@
+package com.sinergise.io;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Incremental WKT tokenizer. Characters can be fed in arbitrary chunks; a token split between two
+ * chunks is kept pending until it is complete. Accepts the tokens described by the
+ * {@link WKTTokenType} patterns, except that a run of whitespace characters is a single token.
+ */
+final class WKTTokenizer {
+
+  private static final Map<String, WKTTokenType> KEYWORDS = createKeywords();
+
+  private final Consumer<WKTToken> tokenConsumer;
+  private final StringBuilder pendingToken = new StringBuilder();
+
+  private State state = State.START;
+  private int position;
+
+  WKTTokenizer(Consumer<WKTToken> tokenConsumer) {
+    this.tokenConsumer = tokenConsumer;
+  }
+
+  void feed(CharSequence chunk) {
+    for (int i = 0; i < chunk.length(); i++) {
+      feed(chunk.charAt(i));
+    }
+  }
+
+  void feed(char character) {
+    switch (state) {
+      case START -> startToken(character);
+      case WORD -> {
+        if (isWordCharacter(character)) {
+          pendingToken.append(character);
+        } else {
+          emitWord();
+          startToken(character);
+        }
+      }
+      case WHITESPACE -> {
+        if (isWhitespace(character)) {
+          pendingToken.append(character);
+        } else {
+          emitPendingToken(WKTTokenType.WHITESPACE);
+          startToken(character);
+        }
+      }
+      case NUMBER_SIGN, NUMBER_POINT -> {
+        if (!isDigit(character)) {
+          throw unexpectedCharacter(character);
+        }
+        pendingToken.append(character);
+        state = state == State.NUMBER_SIGN ? State.NUMBER_INTEGER : State.NUMBER_FRACTION;
+      }
+      case NUMBER_INTEGER -> {
+        if (isDigit(character)) {
+          pendingToken.append(character);
+        } else if (character == '.') {
+          pendingToken.append(character);
+          state = State.NUMBER_POINT;
+        } else {
+          emitPendingToken(WKTTokenType.NUMBER);
+          startToken(character);
+        }
+      }
+      case NUMBER_FRACTION -> {
+        if (isDigit(character)) {
+          pendingToken.append(character);
+        } else {
+          emitPendingToken(WKTTokenType.NUMBER);
+          startToken(character);
+        }
+      }
+    }
+    position++;
+  }
+
+  /**
+   * Signals the end of input and emits the pending token, if any.
+   */
+  void finish() {
+    switch (state) {
+      case START -> {
+      }
+      case WORD -> emitWord();
+      case WHITESPACE -> emitPendingToken(WKTTokenType.WHITESPACE);
+      case NUMBER_INTEGER, NUMBER_FRACTION -> emitPendingToken(WKTTokenType.NUMBER);
+      case NUMBER_SIGN, NUMBER_POINT -> throw new TokenizationException(
+          String.format("Invalid WKT string. Incomplete number '%s' at end of input.",
+              pendingToken));
+    }
+  }
+
+  /**
+   * Restarts counting of token end indexes from zero.
+   */
+  void resetPosition() {
+    position = 0;
+  }
+
+  private void startToken(char character) {
+    if (isDigit(character)) {
+      beginPendingToken(character, State.NUMBER_INTEGER);
+    } else if (character == '-') {
+      beginPendingToken(character, State.NUMBER_SIGN);
+    } else if (isWhitespace(character)) {
+      beginPendingToken(character, State.WHITESPACE);
+    } else if (isLetter(character)) {
+      beginPendingToken(character, State.WORD);
+    } else if (character == '(') {
+      emit(WKTTokenType.LEFT_PARENTHESES, "(", position + 1);
+    } else if (character == ')') {
+      emit(WKTTokenType.RIGHT_PARENTHESES, ")", position + 1);
+    } else if (character == ',') {
+      emit(WKTTokenType.COMMA, ",", position + 1);
+    } else {
+      throw unexpectedCharacter(character);
+    }
+  }
+
+  private void beginPendingToken(char character, State tokenState) {
+    pendingToken.append(character);
+    state = tokenState;
+  }
+
+  private void emitWord() {
+    String word = pendingToken.toString();
+    WKTTokenType keyword = KEYWORDS.get(word.toUpperCase(Locale.ROOT));
+    if (keyword == null) {
+      throw new TokenizationException(
+          String.format("Invalid WKT string. Unknown keyword '%s' at position %d.", word,
+              position - word.length()));
+    }
+    emitPendingToken(keyword);
+  }
+
+  private void emitPendingToken(WKTTokenType tokenType) {
+    String value = pendingToken.toString();
+    pendingToken.setLength(0);
+    state = State.START;
+    emit(tokenType, value, position);
+  }
+
+  private void emit(WKTTokenType tokenType, String value, int endIndex) {
+    tokenConsumer.accept(new WKTToken(tokenType, value, endIndex));
+  }
+
+  private TokenizationException unexpectedCharacter(char character) {
+    return new TokenizationException(
+        String.format("Invalid WKT string. Unexpected character '%s' at position %d.", character,
+            position));
+  }
+
+  static boolean isDigit(char character) {
+    return character >= '0' && character <= '9';
+  }
+
+  static boolean isLetter(char character) {
+    return (character >= 'A' && character <= 'Z') || (character >= 'a' && character <= 'z');
+  }
+
+  static boolean isWordCharacter(char character) {
+    return isLetter(character) || isDigit(character) || character == '_';
+  }
+
+  static boolean isWhitespace(char character) {
+    return character == ' ' || (character >= '\t' && character <= '\r');
+  }
+
+  private static Map<String, WKTTokenType> createKeywords() {
+    Map<String, WKTTokenType> keywords = new HashMap<>();
+    for (WKTTokenType tokenType : WKTTokenType.values()) {
+      if (tokenType.getPattern().startsWith("\\b")) {
+        keywords.put(tokenType.name(), tokenType);
+      }
+    }
+    return keywords;
+  }
+
+  private enum State {
+    START,
+    WORD,
+    WHITESPACE,
+    NUMBER_SIGN,
+    NUMBER_INTEGER,
+    NUMBER_POINT,
+    NUMBER_FRACTION
+  }
+}
@@ -0,0 +1,131 @@
+package com.sinergise.io;
+
+import com.sinergise.geometry.Geometry;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of encoded WKT keyed by Geometry identity and writer output settings, such as precision
+ * and simplification. Geometries are held
+ * weakly, so an entry disappears together with its geometry. The total number of cached
+ * characters is bounded; when the bound is exceeded, the least recently used entries are evicted.
+ * <p>
+ * Cached geometries are expected to be immutable - the cache does not detect modifications.
+ * A single cache may be shared between several {@link CachingWKTWriter} instances and threads.
+ */
+public class WKTWriteCache {
+
+  private final long maxCachedChars;
+
+  private final ReferenceQueue<Geometry> collectedGeometries = new ReferenceQueue<>();
+  private final LinkedHashMap<Key, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long cachedChars;
+
+  public WKTWriteCache(final long maxCachedChars) {
+    if (maxCachedChars < 0) {
+      throw new IllegalArgumentException(
+          "Maximum cached characters must not be negative. Got: " + maxCachedChars);
+    }
+    this.maxCachedChars = maxCachedChars;
+  }
+
+  synchronized String get(Geometry geometry, WKTWriter.OutputSettings settings) {
+    expungeCollectedEntries();
+    return entries.get(new Key(geometry, settings, null));
+  }
+
+  synchronized void put(Geometry geometry, WKTWriter.OutputSettings settings, String wkt) {
+    expungeCollectedEntries();
+    if (wkt.length() > maxCachedChars) {
+      return;
+    }
+
+    String previous = entries.put(new Key(geometry, settings, collectedGeometries), wkt);
+    if (previous != null) {
+      cachedChars -= previous.length();
+    }
+    cachedChars += wkt.length();
+
+    evictLeastRecentlyUsedEntries();
+  }
+
+  /**
+   * Removes all entries from the cache.
+   */
+  public synchronized void clear() {
+    entries.clear();
+    cachedChars = 0;
+    while (collectedGeometries.poll() != null) {
+      // Keys are gone already, only drain the queue.
+    }
+  }
+
+  /**
+   * Returns the number of cached geometries.
+   */
+  public synchronized int size() {
+    expungeCollectedEntries();
+    return entries.size();
+  }
+
+  /**
+   * Returns the total number of cached WKT characters.
+   */
+  public synchronized long getCachedChars() {
+    expungeCollectedEntries();
+    return cachedChars;
+  }
+
+  private void evictLeastRecentlyUsedEntries() {
+    Iterator<Map.Entry<Key, String>> iterator = entries.entrySet().iterator();
+    while (cachedChars > maxCachedChars && iterator.hasNext()) {
+      cachedChars -= iterator.next().getValue().length();
+      iterator.remove();
+    }
+  }
+
+  private void expungeCollectedEntries() {
+    Reference<? extends Geometry> collected;
+    while ((collected = collectedGeometries.poll()) != null) {
+      String removed = entries.remove((Key) collected);
+      if (removed != null) {
+        cachedChars -= removed.length();
+      }
+    }
+  }
+
+  private static final class Key extends WeakReference<Geometry> {
+
+    private final WKTWriter.OutputSettings settings;
+    private final int hash;
+
+    private Key(Geometry geometry, WKTWriter.OutputSettings settings,
+        ReferenceQueue<Geometry> queue) {
+      super(geometry, queue);
+      this.settings = settings;
+      this.hash = 31 * System.identityHashCode(geometry) + settings.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key key) || !settings.equals(key.settings)) {
+        return false;
+      }
+      Geometry geometry = get();
+      return geometry != null && geometry == key.get();
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package com.sinergise.io;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.sinergise.io.WKTWrite")
+@Label("WKT Write")
+@Description("Writing of a Geometry as WKT")
+@Category({"Sinergise", "WKT"})
+@StackTrace(false)
+class WKTWriteEvent extends jdk.jfr.Event {
+
+  @Label("Geometry Type")
+  String geometryType;
+
+  @Label("Output Length")
+  @Description("Number of characters written")
+  long outputLength;
+
+  @Label("Vertex Count")
+  long vertexCount;
+
+  @Label("Nesting Depth")
+  int nestingDepth;
+}
@@ -2,6 +2,10 @@ package com.sinergise.io;
 
 public class WKTWriteException extends RuntimeException {
 
+  public WKTWriteException(String message) {
+    super(message);
+  }
+
   public WKTWriteException(String message, Throwable throwable) {
     super(message, throwable);
   }
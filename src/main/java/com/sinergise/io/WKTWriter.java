@@ -8,22 +8,64 @@ import com.sinergise.geometry.MultiPoint;
 import com.sinergise.geometry.MultiPolygon;
 import com.sinergise.geometry.Point;
 import com.sinergise.geometry.Polygon;
+import java.io.CharArrayWriter;
 import java.io.IOException;
-import java.io.StringWriter;
 import java.io.Writer;
-import java.util.stream.Stream;
+import java.util.Objects;
 
 public class WKTWriter {
 
-  private static final String COORDINATE_STRING_FORMAT = "%.1f %.1f";
+  /**
+   * Precision that writes every coordinate with as many digits as it takes to read back the same
+   * double, like {@link Double#toString(double)} but never with an exponent.
+   */
+  public static final int FULL_PRECISION = -1;
+
+  private static final int DEFAULT_PRECISION = 1;
   private static final String EMPTY_GEOMETRY = "EMPTY";
 
   private static final String STARTING_PARENTHESES = "(";
   private static final String ENDING_PARENTHESES = ")";
   private static final String COMMA = ",";
   private static final String WHITESPACE = " ";
+  private static final int SEPARATOR_LENGTH = COMMA.length() + WHITESPACE.length();
+  private static final int PARENTHESES_LENGTH =
+      STARTING_PARENTHESES.length() + ENDING_PARENTHESES.length();
+
+  private static final int MAX_STRING_LENGTH = Integer.MAX_VALUE - 8;
+  private static final int MAX_ORDINATE_COUNT = 4;
+  private static final int VERTEX_BATCH_SIZE = 256;
+
+  private final int precision;
+  private final char[] coordinateBuffer;
+  private final double[] vertexBatch = new double[2 * VERTEX_BATCH_SIZE];
+  private final int[] vertexBatchIndexes = new int[VERTEX_BATCH_SIZE];
+  private int vertexBatchSize;
+
+  private WKTMetricsListener metricsListener = WKTMetricsListener.NONE;
+  private LineSimplification simplification;
+  private double simplificationTolerance;
+  private LineSimplifier simplifier;
+  private CoordinateTransform coordinateTransform;
+
+  private Writer writer;
+
+  public WKTWriter() {
+    this(DEFAULT_PRECISION);
+  }
 
-  private final Writer writer = new StringWriter();
+  /**
+   * Creates a writer that outputs coordinates with the given number of decimal places, or with
+   * {@link #FULL_PRECISION}.
+   */
+  public WKTWriter(final int precision) {
+    if (precision < 0 && precision != FULL_PRECISION) {
+      throw new IllegalArgumentException("Precision must not be negative. Got: " + precision);
+    }
+    this.precision = precision;
+    this.coordinateBuffer = new char[MAX_ORDINATE_COUNT * WKTNumberFormat.maxLength(precision)
+        + MAX_ORDINATE_COUNT - 1];
+  }
 
   /**
    * Transforms the input Geometry object into WKT-formatted String. e.g.
@@ -33,75 +75,193 @@ public class WKTWriter {
    * </code></pre>
    */
   public String write(final Geometry geometry) {
-    try (writer) {
-      writeGeometryTaggedText(geometry);
-      return writer.toString();
+    if (simplifier != null || coordinateTransform != null || precision == FULL_PRECISION) {
+      // Sizing the output would simplify, transform or format every line string twice.
+      try (Writer output = new CharArrayWriter()) {
+        writeGeometry(geometry, output, -1);
+        return output.toString();
+      } catch (IOException e) {
+        throw new WKTWriteException("IOException occurred during WKT write.", e);
+      }
+    }
+
+    long length = length(geometry);
+    if (length > MAX_STRING_LENGTH) {
+      throw new WKTWriteException(
+          String.format("WKT of %d characters does not fit into a String.", length));
+    }
+
+    try (Writer output = new CharArrayWriter((int) length)) {
+      writeGeometry(geometry, output, length);
+      return output.toString();
+    } catch (IOException e) {
+      throw new WKTWriteException("IOException occurred during WKT write.", e);
+    }
+  }
+
+  /**
+   * Writes the WKT representation of the input Geometry object to the given output.
+   */
+  public void write(final Geometry geometry, final Writer output) {
+    try {
+      writeGeometry(geometry, output, -1);
     } catch (IOException e) {
       throw new WKTWriteException("IOException occurred during WKT write.", e);
     }
   }
 
+  /**
+   * Returns the exact number of characters the WKT representation of the input Geometry object
+   * consists of, without producing it. WKT is ASCII text, so this is also its length in bytes.
+   * Simplification is taken into account.
+   */
+  public long length(final Geometry geometry) {
+    return geometryTaggedTextLength(geometry);
+  }
+
+  /**
+   * Returns the number of decimal places written for each coordinate, or {@link #FULL_PRECISION}.
+   */
+  public int getPrecision() {
+    return precision;
+  }
+
+  /**
+   * Sets the simplification applied to line strings and polygon rings as they are written, or
+   * {@code null} to write all vertices (the default). The tolerance is a distance in the units of
+   * the geometry, before any coordinate transform. Vertices are skipped while writing; the
+   * geometry is neither modified nor copied.
+   */
+  public void setSimplification(LineSimplification simplification, double tolerance) {
+    if (!(tolerance >= 0) || Double.isInfinite(tolerance)) {
+      throw new IllegalArgumentException(
+          "Tolerance must be a non-negative finite number. Got: " + tolerance);
+    }
+    this.simplification = simplification;
+    this.simplificationTolerance = simplification == null ? 0 : tolerance;
+    this.simplifier = simplification == null ? null : new LineSimplifier(simplification, tolerance);
+  }
+
+  /**
+   * Sets the transform applied to coordinates as they are written, or {@code null} (the default)
+   * to write them unchanged. Coordinates are transformed in batches in a reused buffer, so e.g.
+   * reprojecting on export creates no transformed copies of the geometries.
+   */
+  public void setCoordinateTransform(CoordinateTransform coordinateTransform) {
+    this.coordinateTransform = coordinateTransform;
+  }
+
+  /**
+   * Returns the settings that determine the written WKT of a geometry, used to key cached output.
+   */
+  OutputSettings getOutputSettings() {
+    return new OutputSettings(precision, simplification, simplificationTolerance,
+        coordinateTransform);
+  }
+
+  /**
+   * Sets the listener notified about every written geometry. Defaults to
+   * {@link WKTMetricsListener#NONE}.
+   */
+  public void setMetricsListener(WKTMetricsListener metricsListener) {
+    this.metricsListener = Objects.requireNonNull(metricsListener);
+  }
+
+  private void writeGeometry(Geometry geometry, Writer output, long knownLength)
+      throws IOException {
+    WKTWriteEvent event = new WKTWriteEvent();
+    boolean notifyListener = metricsListener != WKTMetricsListener.NONE;
+    long startNanos = notifyListener ? System.nanoTime() : 0;
+    event.begin();
+
+    // Without a known length, the output is counted as it is written instead of sized separately.
+    CountingWriter countingWriter = knownLength < 0 && (event.isEnabled() || notifyListener)
+        ? new CountingWriter(output) : null;
+    writer = countingWriter == null ? output : countingWriter;
+    try {
+      writeGeometryTaggedText(geometry);
+    } finally {
+      writer = null;
+    }
+
+    event.end();
+    long durationNanos = notifyListener ? System.nanoTime() - startNanos : 0;
+    if (event.shouldCommit() || notifyListener) {
+      long outputLength = countingWriter == null ? knownLength : countingWriter.count;
+      if (event.shouldCommit()) {
+        event.geometryType = WKTGeometryType.from(geometry).getWKTTag();
+        event.outputLength = outputLength;
+        event.vertexCount = GeometryMeasures.vertexCount(geometry);
+        event.nestingDepth = GeometryMeasures.nestingDepth(geometry);
+        event.commit();
+      }
+      if (notifyListener) {
+        metricsListener.geometryWritten(WKTGeometryType.from(geometry), outputLength,
+            durationNanos);
+      }
+    }
+  }
+
   private void writeGeometryTaggedText(Geometry geometry) throws IOException {
     WKTGeometryType geometryType = WKTGeometryType.from(geometry);
+    Dimension dimension = Dimension.of(geometry);
 
-    writeGeometryTag(geometryType);
-    writeGeometryText(geometry, geometryType);
+    writeGeometryTag(geometryType, dimension);
+    writeGeometryText(geometry, geometryType, dimension);
   }
 
-  private void writeGeometryText(Geometry geometry, WKTGeometryType geometryType)
-      throws IOException {
+  private void writeGeometryText(Geometry geometry, WKTGeometryType geometryType,
+      Dimension dimension) throws IOException {
     if (geometry.isEmpty()) {
       writeEmptyGeometry(writer);
       return;
     }
 
     switch (geometryType) {
-      case POINT -> writePointText((Point) geometry);
-      case LINESTRING -> writeLineStringText((LineString) geometry);
-      case POLYGON -> writePolygonText((Polygon) geometry);
+      case POINT -> writePointText((Point) geometry, dimension);
+      case LINESTRING -> writeLineStringText((LineString) geometry, dimension, false);
+      case POLYGON -> writePolygonText((Polygon) geometry, dimension);
       case GEOMETRY_COLLECTION, MULTIPOINT, MULTILINESTRING, MULTIPOLYGON ->
-          writeGeometryCollectionText((GeometryCollection<?>) geometry);
+          writeGeometryCollectionText((GeometryCollection<?>) geometry, geometryType, dimension);
     }
   }
 
-  private void writePolygonText(Polygon polygon) throws IOException {
+  private void writePolygonText(Polygon polygon, Dimension dimension) throws IOException {
     writeStartingParentheses(writer);
 
     LineString outerLineString = polygon.getOuter();
-    writeLineStringText(outerLineString);
-
-    writeSeparatorIfNeeded(true);
+    writeLineStringText(outerLineString, dimension, true);
 
     for (int i = 0; i < polygon.getNumHoles(); i++) {
-      writeSeparatorIfNeeded(i > 0);
-      writeLineStringText(polygon.getHole(i));
+      writeSeparatorIfNeeded(true);
+      writeLineStringText(polygon.getHole(i), dimension, true);
     }
 
     writeEndingParentheses(writer);
   }
 
-  private void writeGeometryCollectionText(GeometryCollection<?> geometryCollection)
-      throws IOException {
+  private void writeGeometryCollectionText(GeometryCollection<?> geometryCollection,
+      WKTGeometryType geometryType, Dimension dimension) throws IOException {
     writeStartingParentheses(writer);
 
-    boolean isInstanceOfGeometryCollection = geometryCollection.getClass()
-        .isAssignableFrom(GeometryCollection.class);
+    WKTGeometryType memberType = geometryType.getMemberType();
 
     for (int i = 0; i < geometryCollection.size(); i++) {
       writeSeparatorIfNeeded(i > 0);
 
       Geometry geometry = geometryCollection.get(i);
-      if (isInstanceOfGeometryCollection) {
+      if (memberType == null) {
         writeGeometryTaggedText(geometry);
       } else {
-        writeGeometryText(geometry, WKTGeometryType.from(geometry));
+        writeGeometryText(geometry, memberType, dimension);
       }
     }
 
     writeEndingParentheses(writer);
   }
 
-  private void writeLineStringText(LineString lineString) throws IOException {
+  private void writeLineStringText(LineString lineString, Dimension dimension, boolean ring)
+      throws IOException {
     if (lineString.getNumCoords() == 0) {
       writeEmptyGeometry(writer);
       return;
@@ -109,27 +269,96 @@ public class WKTWriter {
 
     writeStartingParentheses(writer);
 
-    for (int i = 0; i < lineString.getNumCoords(); i++) {
-      writeSeparatorIfNeeded(i > 0);
-      writePoint(lineString.getX(i), lineString.getY(i));
+    boolean[] kept = simplifier == null ? null : simplifier.simplify(lineString, ring);
+    LineStringZM lineStringZM = dimension == Dimension.XY ? null : (LineStringZM) lineString;
+    boolean separatorNeeded = false;
+    for (int next = 0; next < lineString.getNumCoords(); ) {
+      next = fillVertexBatch(lineString, kept, next);
+
+      for (int j = 0; j < vertexBatchSize; j++) {
+        writeSeparatorIfNeeded(separatorNeeded);
+        separatorNeeded = true;
+        if (lineStringZM == null) {
+          writePoint(vertexBatch[2 * j], vertexBatch[2 * j + 1]);
+        } else {
+          int i = vertexBatchIndexes[j];
+          writePoint(vertexBatch[2 * j], vertexBatch[2 * j + 1], lineStringZM.getZ(i),
+              lineStringZM.getM(i), dimension);
+        }
+      }
     }
 
     writeEndingParentheses(writer);
   }
 
-  private void writePointText(Point point) throws IOException {
+  private void writePointText(Point point, Dimension dimension) throws IOException {
     writeStartingParentheses(writer);
-    writePoint(point);
+    writePoint(point, dimension);
     writeEndingParentheses(writer);
   }
 
-  private void writePoint(Point point) throws IOException {
-    writePoint(point.getX(), point.getY());
+  private void writePoint(Point point, Dimension dimension) throws IOException {
+    fillVertexBatch(point);
+    if (dimension == Dimension.XY) {
+      writePoint(vertexBatch[0], vertexBatch[1]);
+    } else {
+      PointZM pointZM = (PointZM) point;
+      writePoint(vertexBatch[0], vertexBatch[1], pointZM.getZ(), pointZM.getM(), dimension);
+    }
+  }
+
+  /**
+   * Copies the X/Y coordinates of the kept vertices, starting at vertex {@code from}, into the
+   * vertex batch and transforms them. Returns the index of the first vertex not in the batch.
+   */
+  private int fillVertexBatch(LineString lineString, boolean[] kept, int from) {
+    vertexBatchSize = 0;
+    int i = from;
+    for (; i < lineString.getNumCoords() && vertexBatchSize < VERTEX_BATCH_SIZE; i++) {
+      if (kept != null && !kept[i]) {
+        continue;
+      }
+      vertexBatch[2 * vertexBatchSize] = lineString.getX(i);
+      vertexBatch[2 * vertexBatchSize + 1] = lineString.getY(i);
+      vertexBatchIndexes[vertexBatchSize++] = i;
+    }
+
+    if (coordinateTransform != null && vertexBatchSize > 0) {
+      coordinateTransform.transform(vertexBatch, 0, 2, vertexBatchSize);
+    }
+    return i;
+  }
+
+  private void fillVertexBatch(Point point) {
+    vertexBatch[0] = point.getX();
+    vertexBatch[1] = point.getY();
+    vertexBatchSize = 1;
+    if (coordinateTransform != null) {
+      coordinateTransform.transform(vertexBatch, 0, 2, 1);
+    }
   }
 
   private void writePoint(double x, double y) throws IOException {
-    String coordinates = String.format(COORDINATE_STRING_FORMAT, x, y);
-    writer.write(coordinates);
+    int length = WKTNumberFormat.format(x, precision, coordinateBuffer, 0);
+    coordinateBuffer[length++] = ' ';
+    length = WKTNumberFormat.format(y, precision, coordinateBuffer, length);
+    writer.write(coordinateBuffer, 0, length);
+  }
+
+  private void writePoint(double x, double y, double z, double m, Dimension dimension)
+      throws IOException {
+    int length = WKTNumberFormat.format(x, precision, coordinateBuffer, 0);
+    coordinateBuffer[length++] = ' ';
+    length = WKTNumberFormat.format(y, precision, coordinateBuffer, length);
+    if (dimension.hasZ()) {
+      coordinateBuffer[length++] = ' ';
+      length = WKTNumberFormat.format(z, precision, coordinateBuffer, length);
+    }
+    if (dimension.hasM()) {
+      coordinateBuffer[length++] = ' ';
+      length = WKTNumberFormat.format(m, precision, coordinateBuffer, length);
+    }
+    writer.write(coordinateBuffer, 0, length);
   }
 
   private void writeSeparatorIfNeeded(boolean separatorNeeded) throws IOException {
@@ -159,38 +388,237 @@ public class WKTWriter {
     writer.write(EMPTY_GEOMETRY);
   }
 
-  private void writeGeometryTag(WKTGeometryType geometryType) throws IOException {
-    writer.write(geometryType.getWKTTag());
-    writer.write(WHITESPACE);
+  private void writeGeometryTag(WKTGeometryType geometryType, Dimension dimension)
+      throws IOException {
+    writer.write(geometryType.taggedText);
+    if (dimension != Dimension.XY) {
+      writer.write(dimension.getWKTTag());
+      writeWhitespace(writer);
+    }
+  }
+
+  private long geometryTaggedTextLength(Geometry geometry) {
+    WKTGeometryType geometryType = WKTGeometryType.from(geometry);
+    Dimension dimension = Dimension.of(geometry);
+
+    return geometryTagLength(geometryType, dimension)
+        + geometryTextLength(geometry, geometryType, dimension);
+  }
+
+  private long geometryTagLength(WKTGeometryType geometryType, Dimension dimension) {
+    if (dimension == Dimension.XY) {
+      return geometryType.taggedText.length;
+    }
+    return geometryType.taggedText.length + dimension.getWKTTag().length() + WHITESPACE.length();
+  }
+
+  private long geometryTextLength(Geometry geometry, WKTGeometryType geometryType,
+      Dimension dimension) {
+    if (geometry.isEmpty()) {
+      return EMPTY_GEOMETRY.length();
+    }
+
+    return switch (geometryType) {
+      case POINT -> pointTextLength((Point) geometry, dimension);
+      case LINESTRING -> lineStringTextLength((LineString) geometry, dimension, false);
+      case POLYGON -> polygonTextLength((Polygon) geometry, dimension);
+      case GEOMETRY_COLLECTION, MULTIPOINT, MULTILINESTRING, MULTIPOLYGON ->
+          geometryCollectionTextLength((GeometryCollection<?>) geometry, geometryType, dimension);
+    };
+  }
+
+  private long polygonTextLength(Polygon polygon, Dimension dimension) {
+    long length = PARENTHESES_LENGTH
+        + lineStringTextLength(polygon.getOuter(), dimension, true);
+
+    for (int i = 0; i < polygon.getNumHoles(); i++) {
+      length += SEPARATOR_LENGTH + lineStringTextLength(polygon.getHole(i), dimension, true);
+    }
+
+    return length;
+  }
+
+  private long geometryCollectionTextLength(GeometryCollection<?> geometryCollection,
+      WKTGeometryType geometryType, Dimension dimension) {
+    long length = PARENTHESES_LENGTH;
+
+    WKTGeometryType memberType = geometryType.getMemberType();
+
+    for (int i = 0; i < geometryCollection.size(); i++) {
+      if (i > 0) {
+        length += SEPARATOR_LENGTH;
+      }
+
+      Geometry geometry = geometryCollection.get(i);
+      if (memberType == null) {
+        length += geometryTaggedTextLength(geometry);
+      } else {
+        length += geometryTextLength(geometry, memberType, dimension);
+      }
+    }
+
+    return length;
   }
 
+  private long lineStringTextLength(LineString lineString, Dimension dimension, boolean ring) {
+    if (lineString.getNumCoords() == 0) {
+      return EMPTY_GEOMETRY.length();
+    }
+
+    boolean[] kept = simplifier == null ? null : simplifier.simplify(lineString, ring);
+    LineStringZM lineStringZM = dimension == Dimension.XY ? null : (LineStringZM) lineString;
+    long length = PARENTHESES_LENGTH - SEPARATOR_LENGTH;
+    for (int next = 0; next < lineString.getNumCoords(); ) {
+      next = fillVertexBatch(lineString, kept, next);
+
+      for (int j = 0; j < vertexBatchSize; j++) {
+        length += SEPARATOR_LENGTH;
+        if (lineStringZM == null) {
+          length += pointLength(vertexBatch[2 * j], vertexBatch[2 * j + 1]);
+        } else {
+          int i = vertexBatchIndexes[j];
+          length += pointLength(vertexBatch[2 * j], vertexBatch[2 * j + 1], lineStringZM.getZ(i),
+              lineStringZM.getM(i), dimension);
+        }
+      }
+    }
+
+    return length;
+  }
+
+  private long pointTextLength(Point point, Dimension dimension) {
+    fillVertexBatch(point);
+    if (dimension == Dimension.XY) {
+      return PARENTHESES_LENGTH + pointLength(vertexBatch[0], vertexBatch[1]);
+    }
+    PointZM pointZM = (PointZM) point;
+    return PARENTHESES_LENGTH
+        + pointLength(vertexBatch[0], vertexBatch[1], pointZM.getZ(), pointZM.getM(), dimension);
+  }
+
+  private int pointLength(double x, double y) {
+    return WKTNumberFormat.length(x, precision) + WHITESPACE.length()
+        + WKTNumberFormat.length(y, precision);
+  }
+
+  private int pointLength(double x, double y, double z, double m, Dimension dimension) {
+    int length = pointLength(x, y);
+    if (dimension.hasZ()) {
+      length += WHITESPACE.length() + WKTNumberFormat.length(z, precision);
+    }
+    if (dimension.hasM()) {
+      length += WHITESPACE.length() + WKTNumberFormat.length(m, precision);
+    }
+    return length;
+  }
+
+  /**
+   * Passes characters through to another writer, counting them.
+   */
+  private static final class CountingWriter extends Writer {
+
+    private final Writer output;
+    private long count;
+
+    private CountingWriter(Writer output) {
+      this.output = output;
+    }
+
+    @Override
+    public void write(int character) throws IOException {
+      output.write(character);
+      count++;
+    }
+
+    @Override
+    public void write(char[] characters, int offset, int length) throws IOException {
+      output.write(characters, offset, length);
+      count += length;
+    }
+
+    @Override
+    public void write(String text, int offset, int length) throws IOException {
+      output.write(text, offset, length);
+      count += length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      output.close();
+    }
+  }
+
+  /**
+   * Output settings of a writer. Two writers with equal settings write the same WKT for a
+   * geometry.
+   */
+  record OutputSettings(int precision, LineSimplification simplification, double tolerance,
+                        CoordinateTransform coordinateTransform) {
+  }
+
+  /**
+   * WKT geometry types of the object model. A Geometry is mapped to the type of its nearest model
+   * superclass, so subclasses of e.g. {@link Point} are written as points.
+   */
   public enum WKTGeometryType {
-    POINT("POINT", Point.class),
-    MULTIPOINT("MULTIPOINT", MultiPoint.class),
-    LINESTRING("LINESTRING", LineString.class),
-    MULTILINESTRING("MULTILINESTRING", MultiLineString.class),
-    POLYGON("POLYGON", Polygon.class),
-    MULTIPOLYGON("MULTIPOLYGON", MultiPolygon.class),
-    GEOMETRY_COLLECTION("GEOMETRYCOLLECTION", GeometryCollection.class);
+    POINT("POINT", Point.class, null),
+    MULTIPOINT("MULTIPOINT", MultiPoint.class, POINT),
+    LINESTRING("LINESTRING", LineString.class, null),
+    MULTILINESTRING("MULTILINESTRING", MultiLineString.class, LINESTRING),
+    POLYGON("POLYGON", Polygon.class, null),
+    MULTIPOLYGON("MULTIPOLYGON", MultiPolygon.class, POLYGON),
+    GEOMETRY_COLLECTION("GEOMETRYCOLLECTION", GeometryCollection.class, null);
+
+    private static final ClassValue<WKTGeometryType> TYPE_BY_CLASS = new ClassValue<>() {
+      @Override
+      protected WKTGeometryType computeValue(Class<?> type) {
+        for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+          for (WKTGeometryType geometryType : values()) {
+            if (geometryType.clazz == clazz) {
+              return geometryType;
+            }
+          }
+        }
+        return null;
+      }
+    };
 
     private final String WKTTag;
+    private final char[] taggedText;
     private final Class<? extends Geometry> clazz;
+    private final WKTGeometryType memberType;
 
-    WKTGeometryType(String WKTTag, Class<? extends Geometry> clazz) {
+    WKTGeometryType(String WKTTag, Class<? extends Geometry> clazz, WKTGeometryType memberType) {
       this.WKTTag = WKTTag;
+      this.taggedText = (WKTTag + WHITESPACE).toCharArray();
       this.clazz = clazz;
+      this.memberType = memberType;
     }
 
-    private static WKTGeometryType from(Geometry geometry) {
-      return Stream.of(WKTGeometryType.values())
-          .filter(geometryType -> geometryType.clazz.equals(geometry.getClass()))
-          .findFirst()
-          .orElseThrow(() -> new IllegalStateException(
-              "Unexpected geometry class: " + geometry.getClass().getSimpleName()));
+    static WKTGeometryType from(Geometry geometry) {
+      WKTGeometryType geometryType = TYPE_BY_CLASS.get(geometry.getClass());
+      if (geometryType == null) {
+        throw new IllegalStateException(
+            "Unexpected geometry class: " + geometry.getClass().getSimpleName());
+      }
+      return geometryType;
     }
 
     public String getWKTTag() {
       return WKTTag;
     }
+
+    /**
+     * Returns the type of the untagged members of a multi geometry, or {@code null} if the members
+     * are written with their own tag.
+     */
+    WKTGeometryType getMemberType() {
+      return memberType;
+    }
   }
 }
@@ -0,0 +1,187 @@
+package com.sinergise.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+
+class BulkConverterTest {
+
+  private static final String WKT = "POINT (4.0 6.0)\n"
+      + "LINESTRING (4.0 6.0, 7.0 10.0)\n"
+      + "POLYGON ((0.0 0.0, 10.0 0.0, 10.0 10.0, 0.0 0.0))\n"
+      + "MULTIPOINT ((1.0 2.0), (3.0 4.0))\n"
+      + "GEOMETRYCOLLECTION (POINT (4.0 6.0), LINESTRING (4.0 6.0, 7.0 10.0))\n";
+
+  @Test
+  void convertsThroughWKBAndGeoJSON() throws IOException {
+    Path source = Files.createTempFile("source", ".wkt");
+    Path wkb = Files.createTempFile("geometries", ".wkb");
+    Path geoJSON = Files.createTempFile("geometries", ".geojson");
+    Path target = Files.createTempFile("target", ".wkt");
+    Files.writeString(source, WKT, StandardCharsets.US_ASCII);
+
+    try {
+      BulkConverter.Report report = new BulkConverter(BulkConverter.Format.WKT,
+          BulkConverter.Format.WKB, 2, 2, null).convert(source, wkb);
+      assertEquals(5, report.records());
+      assertEquals(WKT.length(), report.bytesRead());
+
+      new BulkConverter(BulkConverter.Format.WKB, BulkConverter.Format.GEOJSON, 3, 1, 3)
+          .convert(wkb, geoJSON);
+      assertTrue(Files.readString(geoJSON, StandardCharsets.US_ASCII)
+          .startsWith("{\"type\":\"Point\",\"coordinates\":[4.000,6.000]}\n"));
+
+      new BulkConverter(BulkConverter.Format.GEOJSON, BulkConverter.Format.WKT, 1, 4, 1)
+          .convert(geoJSON, target);
+      assertEquals(WKT, Files.readString(target, StandardCharsets.US_ASCII));
+    } finally {
+      Files.delete(source);
+      Files.delete(wkb);
+      Files.delete(geoJSON);
+      Files.delete(target);
+    }
+  }
+
+  @Test
+  void writesFullPrecisionByDefault() throws IOException {
+    String wkt = "LINESTRING (4.123456 6.5, -0.000123 1234567.890123)\n";
+    Path source = Files.createTempFile("source", ".wkt");
+    Path wkb = Files.createTempFile("geometries", ".wkb");
+    Path geoJSON = Files.createTempFile("geometries", ".geojson");
+    Path target = Files.createTempFile("target", ".wkt");
+    Files.writeString(source, wkt, StandardCharsets.US_ASCII);
+
+    try {
+      new BulkConverter(BulkConverter.Format.WKT, BulkConverter.Format.WKB, 1, 1, null)
+          .convert(source, wkb);
+      new BulkConverter(BulkConverter.Format.WKB, BulkConverter.Format.GEOJSON, 1, 1, null)
+          .convert(wkb, geoJSON);
+      assertEquals("{\"type\":\"LineString\",\"coordinates\":"
+              + "[[4.123456,6.5],[-0.000123,1234567.890123]]}\n",
+          Files.readString(geoJSON, StandardCharsets.US_ASCII));
+
+      new BulkConverter(BulkConverter.Format.GEOJSON, BulkConverter.Format.WKT, 1, 1, null)
+          .convert(geoJSON, target);
+      assertEquals(wkt, Files.readString(target, StandardCharsets.US_ASCII));
+    } finally {
+      Files.delete(source);
+      Files.delete(wkb);
+      Files.delete(geoJSON);
+      Files.delete(target);
+    }
+  }
+
+  @Test
+  void copiesRecordsOfTheSameFormat() throws IOException {
+    String geoJSON = "{\"type\":\"Point\",\"bbox\":[4.10,6,4.10,6],\"coordinates\":[4.10,6]}\n";
+    Path source = Files.createTempFile("source", ".geojson");
+    Path target = Files.createTempFile("target", ".geojson");
+    Files.writeString(source, geoJSON, StandardCharsets.US_ASCII);
+
+    try {
+      new BulkConverter(BulkConverter.Format.GEOJSON, BulkConverter.Format.GEOJSON, 1, 1, null)
+          .convert(source, target);
+      assertEquals(geoJSON, Files.readString(target, StandardCharsets.US_ASCII));
+
+      new BulkConverter(BulkConverter.Format.GEOJSON, BulkConverter.Format.GEOJSON, 1, 1, 2)
+          .convert(source, target);
+      assertEquals("{\"type\":\"Point\",\"coordinates\":[4.10,6.00]}\n",
+          Files.readString(target, StandardCharsets.US_ASCII));
+    } finally {
+      Files.delete(source);
+      Files.delete(target);
+    }
+  }
+
+  @Test
+  void reportsInvalidRecords() throws IOException {
+    Path source = Files.createTempFile("source", ".wkt");
+    Path target = Files.createTempFile("target", ".wkt");
+    Files.writeString(source, "POINT (1 2)\n\nPOINT (1\n", StandardCharsets.US_ASCII);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    try {
+      int status = BulkConverter.run(new String[] {source.toString(), target.toString()},
+          new PrintStream(out, true, StandardCharsets.UTF_8),
+          new PrintStream(err, true, StandardCharsets.UTF_8));
+
+      assertEquals(1, status);
+      assertTrue(err.toString(StandardCharsets.UTF_8).startsWith("Conversion failed: Line 3:"));
+    } finally {
+      Files.delete(source);
+      Files.delete(target);
+    }
+  }
+
+  @Test
+  void reportsInvalidWKBRecordsByOffset() throws IOException {
+    byte[] point = new WKBWriter().write(new WKTReader().read("POINT (1 2)"));
+    ByteBuffer wkb = ByteBuffer.allocate(4 + point.length + 6).order(ByteOrder.LITTLE_ENDIAN);
+    wkb.putInt(point.length).put(point).putInt(2).put((byte) 1).put((byte) 99);
+    Path source = Files.createTempFile("source", ".wkb");
+    Path target = Files.createTempFile("target", ".wkt");
+    Files.write(source, wkb.array());
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    try {
+      int status = BulkConverter.run(
+          new String[] {"--from", "wkb", source.toString(), target.toString()},
+          new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8),
+          new PrintStream(err, true, StandardCharsets.UTF_8));
+
+      assertEquals(1, status);
+      assertTrue(err.toString(StandardCharsets.UTF_8).startsWith(
+          "Conversion failed: WKB record 2 at byte " + (4 + point.length) + ":"));
+    } finally {
+      Files.delete(source);
+      Files.delete(target);
+    }
+  }
+
+  @Test
+  void rejectsInvalidWKBRecordLength() throws IOException {
+    byte[] point = new WKBWriter().write(new WKTReader().read("POINT (1 2)"));
+    ByteBuffer wkb = ByteBuffer.allocate(4 + point.length + 5).order(ByteOrder.LITTLE_ENDIAN);
+    wkb.putInt(point.length).put(point).putInt(Integer.MAX_VALUE).put((byte) 1);
+    Path source = Files.createTempFile("source", ".wkb");
+    Path target = Files.createTempFile("target", ".wkt");
+    Files.write(source, wkb.array());
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    try {
+      int status = BulkConverter.run(
+          new String[] {"--from", "wkb", source.toString(), target.toString()},
+          new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8),
+          new PrintStream(err, true, StandardCharsets.UTF_8));
+
+      assertEquals(1, status);
+      assertEquals(String.format("Conversion failed: WKB record 2 at byte %d is %d bytes long,"
+              + " more than the remaining 1 bytes.%n", 4 + point.length, Integer.MAX_VALUE),
+          err.toString(StandardCharsets.UTF_8));
+    } finally {
+      Files.delete(source);
+      Files.delete(target);
+    }
+  }
+
+  @Test
+  void rejectsInvalidOptions() {
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    int status = BulkConverter.run(new String[] {"--threads", "0", "a", "b"},
+        new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8),
+        new PrintStream(err, true, StandardCharsets.UTF_8));
+
+    assertEquals(2, status);
+    assertTrue(err.toString(StandardCharsets.UTF_8).contains("Usage: BulkConverter"));
+  }
+}
@@ -0,0 +1,61 @@
+package com.sinergise.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.sinergise.geometry.LineString;
+import com.sinergise.geometry.Point;
+import org.junit.jupiter.api.Test;
+
+class CachingWKTWriterTest {
+
+  @Test
+  void repeatedWriteReturnsCachedWKT() {
+    CachingWKTWriter writer = new CachingWKTWriter(new WKTWriteCache(1024));
+    LineString lineString = new LineString(new double[]{30, 10, 10, 30});
+
+    String first = writer.write(lineString);
+    String second = writer.write(lineString);
+
+    assertEquals("LINESTRING (30.0 10.0, 10.0 30.0)", first);
+    assertSame(first, second);
+  }
+
+  @Test
+  void precisionIsPartOfTheCacheKey() {
+    WKTWriteCache cache = new WKTWriteCache(1024);
+    Point point = new Point(1.25, 2);
+
+    assertEquals("POINT (1.3 2.0)", new CachingWKTWriter(cache).write(point));
+    assertEquals("POINT (1.250 2.000)", new CachingWKTWriter(cache, 3).write(point));
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  void leastRecentlyUsedEntriesAreEvicted() {
+    WKTWriteCache cache = new WKTWriteCache(30);
+    CachingWKTWriter writer = new CachingWKTWriter(cache);
+    Point first = new Point(1, 1);
+    Point second = new Point(2, 2);
+
+    writer.write(first);
+    writer.write(second);
+    writer.write(first);
+    writer.write(new Point(3, 3));
+
+    assertEquals(2, cache.size());
+    assertEquals(30, cache.getCachedChars());
+  }
+
+  @Test
+  void simplificationIsPartOfTheCacheKey() {
+    WKTWriteCache cache = new WKTWriteCache(1024);
+    LineString lineString = new LineString(new double[]{0, 0, 1, 0.1, 2, 0});
+    CachingWKTWriter simplifyingWriter = new CachingWKTWriter(cache);
+    simplifyingWriter.setSimplification(LineSimplification.DOUGLAS_PEUCKER, 1);
+
+    assertEquals("LINESTRING (0.0 0.0, 1.0 0.1, 2.0 0.0)",
+        new CachingWKTWriter(cache).write(lineString));
+    assertEquals("LINESTRING (0.0 0.0, 2.0 0.0)", simplifyingWriter.write(lineString));
+  }
+}
@@ -0,0 +1,117 @@
+package com.sinergise.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class GeoJSONTranscoderTest {
+
+  @Test
+  void testPointToGeoJSON() {
+    assertEquals("{\"type\":\"Point\",\"coordinates\":[4.0,-6.25]}",
+        GeoJSONTranscoder.toGeoJSON("POINT (4.0 -6.25)"));
+    assertEquals("{\"type\":\"Point\",\"coordinates\":[]}",
+        GeoJSONTranscoder.toGeoJSON("point empty"));
+  }
+
+  @Test
+  void testGeometriesToGeoJSON() {
+    assertEquals("{\"type\":\"Polygon\",\"coordinates\":[[[0,0],[10,0],[10,10],[0,0]]]}",
+        GeoJSONTranscoder.toGeoJSON("POLYGON ((0 0, 10 0, 10 10, 0 0))"));
+    assertEquals("{\"type\":\"MultiPoint\",\"coordinates\":[[1,2],[3,4]]}",
+        GeoJSONTranscoder.toGeoJSON("MULTIPOINT ((1 2), 3 4)"));
+    assertEquals("{\"type\":\"GeometryCollection\",\"geometries\":["
+            + "{\"type\":\"Point\",\"coordinates\":[4,6]},"
+            + "{\"type\":\"LineString\",\"coordinates\":[[4,6],[7,10]]}]}",
+        GeoJSONTranscoder.toGeoJSON(
+            "GEOMETRYCOLLECTION (POINT (4 6), LINESTRING (4 6, 7 10))"));
+  }
+
+  @Test
+  void testDimensionsToGeoJSON() {
+    assertEquals("{\"type\":\"LineString\",\"coordinates\":[[1,2,3],[4,5,6]]}",
+        GeoJSONTranscoder.toGeoJSON("LINESTRING Z (1 2 3, 4 5 6)"));
+    assertEquals("{\"type\":\"LineString\",\"coordinates\":[[1,2],[4,5]]}",
+        GeoJSONTranscoder.toGeoJSON("LINESTRING M (1 2 3, 4 5 6)"));
+    assertEquals("{\"type\":\"Point\",\"coordinates\":[1,2,3]}",
+        GeoJSONTranscoder.toGeoJSON("POINT (1 2 3 4)"));
+  }
+
+  @Test
+  void testNumbersToGeoJSON() {
+    assertEquals("{\"type\":\"Point\",\"coordinates\":[7.5,-0.25]}",
+        GeoJSONTranscoder.toGeoJSON("POINT (007.5 -00.25)"));
+  }
+
+  @Test
+  void testInvalidWKT() {
+    assertThrows(WKTParseException.class, () -> GeoJSONTranscoder.toGeoJSON("POINT (1)"));
+    assertThrows(WKTParseException.class, () -> GeoJSONTranscoder.toGeoJSON("CIRCLE (1 2)"));
+    assertThrows(WKTParseException.class, () -> GeoJSONTranscoder.toGeoJSON("POINT (1 2"));
+  }
+
+  @Test
+  void testGeometriesToWKT() {
+    assertEquals("POINT (4.0 -6.25)",
+        GeoJSONTranscoder.toWKT("{\"type\": \"Point\", \"coordinates\": [4.0, -6.25]}"));
+    assertEquals("MULTIPOINT ((1 2), (3 4))",
+        GeoJSONTranscoder.toWKT("{\"coordinates\":[[1,2],[3,4]],\"type\":\"MultiPoint\"}"));
+    assertEquals("POLYGON Z ((0 0 1, 10 0 2, 10 10 3, 0 0 1))",
+        GeoJSONTranscoder.toWKT("{\"type\":\"Polygon\",\"bbox\":[0,0,10,10],"
+            + "\"coordinates\":[[[0,0,1],[10,0,2],[10,10,3],[0,0,1]]]}"));
+    assertEquals("MULTILINESTRING (EMPTY, (1 2, 3 4))",
+        GeoJSONTranscoder.toWKT(
+            "{\"type\":\"MultiLineString\",\"coordinates\":[[],[[1,2],[3,4]]]}"));
+    assertEquals("LINESTRING EMPTY",
+        GeoJSONTranscoder.toWKT("{\"type\":\"LineString\",\"coordinates\":[]}"));
+    assertEquals("POINT EMPTY",
+        GeoJSONTranscoder.toWKT("{\"type\":\"Point\",\"coordinates\":[],\"bbox\":[1,2,1,2]}"));
+    assertEquals("POINT EMPTY",
+        GeoJSONTranscoder.toWKT("{\"coordinates\":[],\"type\":\"Point\",\"id\":5}"));
+  }
+
+  @Test
+  void testGeometryCollectionToWKT() {
+    assertEquals("GEOMETRYCOLLECTION (POINT (4 6), LINESTRING (4 6, 7 10))",
+        GeoJSONTranscoder.toWKT("{\"geometries\":["
+            + "{\"type\":\"Point\",\"coordinates\":[4,6]},"
+            + "{\"coordinates\":[[4,6],[7,10]],\"type\":\"LineString\"}],"
+            + "\"type\":\"GeometryCollection\"}"));
+    assertEquals("GEOMETRYCOLLECTION EMPTY",
+        GeoJSONTranscoder.toWKT("{\"type\":\"GeometryCollection\",\"geometries\":[]}"));
+  }
+
+  @Test
+  void testExponentsToWKT() {
+    assertEquals("POINT (1500 0.00125)",
+        GeoJSONTranscoder.toWKT("{\"type\":\"Point\",\"coordinates\":[1.5e3,1.25E-3]}"));
+    assertEquals("POINT (-5 12.5)",
+        GeoJSONTranscoder.toWKT("{\"type\":\"Point\",\"coordinates\":[-0.5e1,125e-1]}"));
+  }
+
+  @Test
+  void testInvalidGeoJSON() {
+    assertThrows(GeoJSONParseException.class,
+        () -> GeoJSONTranscoder.toWKT("{\"coordinates\":[1,2]}"));
+    assertThrows(GeoJSONParseException.class,
+        () -> GeoJSONTranscoder.toWKT("{\"type\":\"Point\",\"coordinates\":[1]}"));
+    assertThrows(GeoJSONParseException.class,
+        () -> GeoJSONTranscoder.toWKT(
+            "{\"type\":\"LineString\",\"coordinates\":[[1,2,3],[4,5]]}"));
+  }
+
+  @Test
+  void testRoundTripThroughStream() throws IOException {
+    String wkt = "MULTIPOLYGON (((0 0, 1 0, 1 1, 0 0)), ((5 5, 6 5, 6 6, 5 5)))";
+    ByteArrayOutputStream geoJSON = new ByteArrayOutputStream();
+    GeoJSONTranscoder.toGeoJSON(wkt, geoJSON);
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    GeoJSONTranscoder.toWKT(geoJSON.toString(StandardCharsets.US_ASCII), output);
+    assertEquals(wkt, output.toString(StandardCharsets.US_ASCII));
+  }
+}
@@ -0,0 +1,49 @@
+package com.sinergise.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sinergise.geometry.Geometry;
+import com.sinergise.geometry.Point;
+import org.junit.jupiter.api.Test;
+
+class GeoJSONWriterTest {
+
+  @Test
+  void writesAsTranscodedWKT() {
+    WKTReader reader = new WKTReader();
+    WKTWriter wktWriter = new WKTWriter(WKTWriter.FULL_PRECISION);
+    GeoJSONWriter writer = new GeoJSONWriter(WKTWriter.FULL_PRECISION);
+    String[] wkts = {
+        "POINT (4.123456 -6.25)",
+        "POINT EMPTY",
+        "LINESTRING Z (1 2 3, 4 5 6)",
+        "LINESTRING M (1 2 3, 4 5 6)",
+        "POLYGON ZM ((0 0 1 2, 10 0 1 2, 10 10 1 2, 0 0 1 2), EMPTY)",
+        "MULTIPOINT ((1 2), EMPTY, (3 4))",
+        "MULTIPOLYGON (((0 0, 10 0, 10 10, 0 0)), EMPTY)",
+        "GEOMETRYCOLLECTION (POINT Z (4 6 8), LINESTRING (4 6, 7 10), GEOMETRYCOLLECTION EMPTY)",
+    };
+
+    for (String wkt : wkts) {
+      Geometry geometry = reader.read(wkt);
+      assertEquals(GeoJSONTranscoder.toGeoJSON(wktWriter.write(geometry)),
+          writer.write(geometry), wkt);
+    }
+  }
+
+  @Test
+  void writesWithPrecision() {
+    assertEquals("{\"type\":\"Point\",\"coordinates\":[4.12,-6.00]}",
+        new GeoJSONWriter(2).write(new Point(4.123456, -6)));
+  }
+
+  @Test
+  void rejectsNonFiniteCoordinates() {
+    GeoJSONWriter writer = new GeoJSONWriter(1);
+
+    assertThrows(GeoJSONWriteException.class,
+        () -> writer.write(new Point(Double.POSITIVE_INFINITY, 0)));
+    assertThrows(IllegalArgumentException.class, () -> new GeoJSONWriter(-2));
+  }
+}
@@ -0,0 +1,81 @@
+package com.sinergise.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class GeometryStoreTest {
+
+  private static final List<String> WKT = List.of(
+      "POINT (4.0 6.0)",
+      "POINT EMPTY",
+      "POINT ZM (1.0 2.0 3.0 4.0)",
+      "LINESTRING (4.0 6.0, 7.0 10.0, -1.5 3.5)",
+      "LINESTRING M (1.0 2.0 5.0, 3.0 4.0 6.0)",
+      "LINESTRING EMPTY",
+      "POLYGON ((0.0 0.0, 10.0 0.0, 10.0 10.0, 0.0 0.0), (1.0 1.0, 2.0 1.0, 2.0 2.0, 1.0 1.0))",
+      "POLYGON Z ((0.0 0.0 1.0, 10.0 0.0 2.0, 10.0 10.0 3.0, 0.0 0.0 1.0))",
+      "POLYGON EMPTY",
+      "MULTIPOINT ((1.0 2.0), (3.0 4.0))",
+      "MULTILINESTRING ((1.0 2.0, 3.0 4.0), (5.0 6.0, 7.0 8.0))",
+      "MULTIPOLYGON (((0.0 0.0, 1.0 0.0, 1.0 1.0, 0.0 0.0)), EMPTY)",
+      "GEOMETRYCOLLECTION (POINT (4.0 6.0), LINESTRING (4.0 6.0, 7.0 10.0))",
+      "GEOMETRYCOLLECTION EMPTY");
+
+  @Test
+  void readsBackWrittenGeometries() throws IOException {
+    Path file = Files.createTempFile("geometries", ".bin");
+    WKTReader reader = new WKTReader();
+    WKTWriter writer = new WKTWriter();
+
+    try {
+      try (GeometryStoreWriter storeWriter = new GeometryStoreWriter(file)) {
+        for (int i = 0; i < WKT.size(); i++) {
+          assertEquals(i, storeWriter.add(reader.read(WKT.get(i))));
+        }
+      }
+
+      try (GeometryStore store = GeometryStore.open(file)) {
+        assertEquals(WKT.size(), store.size());
+        for (int i = WKT.size() - 1; i >= 0; i--) {
+          assertEquals(WKT.get(i), writer.write(store.get(i)));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(WKT.size()));
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  void opensEmptyStore() throws IOException {
+    Path file = Files.createTempFile("geometries", ".bin");
+
+    try {
+      new GeometryStoreWriter(file).close();
+      try (GeometryStore store = GeometryStore.open(file)) {
+        assertEquals(0, store.size());
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  void rejectsOtherFiles() throws IOException {
+    Path file = Files.createTempFile("geometries", ".wkt");
+
+    try {
+      Files.writeString(file, String.join("\n", WKT), StandardCharsets.US_ASCII);
+      assertThrows(IOException.class, () -> GeometryStore.open(file));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
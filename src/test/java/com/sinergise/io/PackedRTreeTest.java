@@ -0,0 +1,111 @@
+package com.sinergise.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class PackedRTreeTest {
+
+  private static final int SIZE = 1000;
+
+  private final double[] minX = new double[SIZE];
+  private final double[] minY = new double[SIZE];
+  private final double[] maxX = new double[SIZE];
+  private final double[] maxY = new double[SIZE];
+
+  PackedRTreeTest() {
+    Random random = new Random(42);
+    for (int i = 0; i < SIZE; i++) {
+      minX[i] = random.nextDouble() * 1000;
+      minY[i] = random.nextDouble() * 1000;
+      maxX[i] = minX[i] + random.nextDouble() * 20;
+      maxY[i] = minY[i] + random.nextDouble() * 20;
+    }
+  }
+
+  @Test
+  void queryMatchesLinearScan() {
+    PackedRTree tree = new PackedRTree(minX, minY, maxX, maxY, SIZE, 4);
+    Random random = new Random(7);
+
+    for (int i = 0; i < 100; i++) {
+      double x = random.nextDouble() * 1000;
+      double y = random.nextDouble() * 1000;
+      Envelope window = new Envelope(x, y, x + random.nextDouble() * 200,
+          y + random.nextDouble() * 200);
+
+      int[] expected = IntStream.range(0, SIZE)
+          .filter(item -> window.intersects(minX[item], minY[item], maxX[item], maxY[item]))
+          .toArray();
+      int[] actual = tree.query(window);
+      Arrays.sort(actual);
+
+      assertArrayEquals(expected, actual);
+    }
+  }
+
+  @Test
+  void nearestMatchesLinearScan() {
+    PackedRTree tree = new PackedRTree(minX, minY, maxX, maxY, SIZE);
+    double x = 500;
+    double y = -50;
+
+    int[] nearest = tree.nearest(x, y, 10);
+
+    double[] expected = IntStream.range(0, SIZE)
+        .mapToDouble(item -> squaredDistance(item, x, y))
+        .sorted()
+        .limit(10)
+        .toArray();
+    assertArrayEquals(expected,
+        Arrays.stream(nearest).mapToDouble(item -> squaredDistance(item, x, y)).toArray());
+    assertEquals(nearest[0], tree.nearest(x, y));
+  }
+
+  @Test
+  void nearestReturnsContainingItem() {
+    PackedRTree tree = new PackedRTree(minX, minY, maxX, maxY, SIZE);
+    int item = IntStream.range(0, SIZE).boxed()
+        .min(Comparator.comparingDouble(i -> maxX[i] - minX[i])).orElseThrow();
+
+    assertEquals(0, squaredDistance(tree.nearest(minX[item], minY[item]), minX[item],
+        minY[item]));
+  }
+
+  @Test
+  void skipsEmptyEnvelopes() {
+    double[] empty = {Double.POSITIVE_INFINITY, 1};
+    double[] emptyMax = {Double.NEGATIVE_INFINITY, 2};
+
+    PackedRTree tree = new PackedRTree(empty, empty, emptyMax, emptyMax, 2);
+
+    assertEquals(1, tree.size());
+    assertArrayEquals(new int[] {1}, tree.query(new Envelope(-10, -10, 10, 10)));
+  }
+
+  @Test
+  void emptyTree() {
+    PackedRTree tree = new PackedRTree(minX, minY, maxX, maxY, 0);
+
+    assertEquals(0, tree.query(new Envelope(0, 0, 1000, 1000)).length);
+    assertEquals(-1, tree.nearest(0, 0));
+  }
+
+  @Test
+  void rejectsInvalidNodeCapacity() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new PackedRTree(minX, minY, maxX, maxY, SIZE, 1));
+  }
+
+  private double squaredDistance(int item, double x, double y) {
+    double dx = Math.max(0, Math.max(minX[item] - x, x - maxX[item]));
+    double dy = Math.max(0, Math.max(minY[item] - y, y - maxY[item]));
+    return dx * dx + dy * dy;
+  }
+}
@@ -0,0 +1,78 @@
+package com.sinergise.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sinergise.geometry.LineString;
+import com.sinergise.geometry.Point;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class WKBReaderTest {
+
+  private final WKBReader wkbReader = new WKBReader();
+  private final WKBWriter wkbWriter = new WKBWriter();
+
+  @Test
+  void testWritePoint() {
+    byte[] expected = {
+        1, 1, 0, 0, 0,
+        0, 0, 0, 0, 0, 0, (byte) 0xf0, 0x3f,
+        0, 0, 0, 0, 0, 0, 0, 0x40
+    };
+    assertArrayEquals(expected, wkbWriter.write(new Point(1, 2)));
+  }
+
+  @Test
+  void testReadBigEndian() {
+    byte[] wkb = {
+        0, 0, 0, 0, 1,
+        0x3f, (byte) 0xf0, 0, 0, 0, 0, 0, 0,
+        0x40, 0, 0, 0, 0, 0, 0, 0
+    };
+    assertEquals("POINT (1.0 2.0)", new WKTWriter().write(wkbReader.read(wkb)));
+  }
+
+  @Test
+  void testRoundTrip() {
+    WKTReader wktReader = new WKTReader();
+    WKTWriter wktWriter = new WKTWriter();
+    for (String wkt : List.of(
+        "POINT EMPTY",
+        "POINT ZM (1.0 2.0 3.0 4.0)",
+        "LINESTRING (4.0 6.0, 7.0 10.0)",
+        "LINESTRING M (1.0 2.0 5.0, 3.0 4.0 6.0)",
+        "POLYGON Z ((0.0 0.0 1.0, 10.0 0.0 2.0, 10.0 10.0 3.0, 0.0 0.0 1.0))",
+        "POLYGON EMPTY",
+        "MULTIPOINT ((1.0 2.0), (3.0 4.0))",
+        "MULTIPOLYGON (((0.0 0.0, 1.0 0.0, 1.0 1.0, 0.0 0.0)), EMPTY)",
+        "GEOMETRYCOLLECTION (POINT (4.0 6.0), LINESTRING EMPTY)")) {
+      assertEquals(wkt, wktWriter.write(wkbReader.read(wkbWriter.write(wktReader.read(wkt)))));
+    }
+  }
+
+  @Test
+  void testInvalidWKB() {
+    byte[] wkb = wkbWriter.write(new Point(1, 2));
+    assertThrows(WKBParseException.class,
+        () -> wkbReader.read(Arrays.copyOf(wkb, wkb.length - 1)));
+    assertThrows(WKBParseException.class,
+        () -> wkbReader.read(Arrays.copyOf(wkb, wkb.length + 1)));
+    wkb[1] = 8;
+    assertThrows(WKBParseException.class, () -> wkbReader.read(wkb));
+  }
+
+  @Test
+  void testInvalidMemberType() {
+    byte[] lineString = wkbWriter.write(new LineString(new double[]{1, 2, 3, 4}));
+    byte[] wkb = new byte[9 + lineString.length];
+    wkb[0] = 1;
+    wkb[1] = 4;
+    wkb[5] = 1;
+    System.arraycopy(lineString, 0, wkb, 9, lineString.length);
+
+    assertThrows(WKBParseException.class, () -> wkbReader.read(wkb));
+  }
+}
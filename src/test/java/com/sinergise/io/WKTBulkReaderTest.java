@@ -0,0 +1,79 @@
+package com.sinergise.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class WKTBulkReaderTest {
+
+  private static final String WKT = "POINT (4 6)\n"
+      + "LINESTRING (30 10, 10 30, 40 40)\n"
+      + "POINT EMPTY\n"
+      + "POLYGON ((-10 -10, -5 -10, -5 -5, -10 -10))\n"
+      + "GEOMETRYCOLLECTION (POINT (100 100), LINESTRING (-1 5, 0.5 7))";
+
+  private final WKTBulkReader bulkReader = new WKTBulkReader();
+  private final WKTWriter writer = new WKTWriter();
+
+  @Test
+  void readsAllRecords() throws IOException {
+    List<String> records = new ArrayList<>();
+
+    long recordCount = bulkReader.read(new StringReader(WKT),
+        (geometry, index) -> records.add(index + " " + writer.write(geometry)));
+
+    assertEquals(5, recordCount);
+    assertEquals("2 POINT EMPTY", records.get(2));
+    assertEquals("3 POLYGON ((-10.0 -10.0, -5.0 -10.0, -5.0 -5.0, -10.0 -10.0))",
+        records.get(3));
+  }
+
+  @Test
+  void skipsRecordsDisjointFromQuery() throws IOException {
+    List<Long> indexes = new ArrayList<>();
+
+    long recordCount = bulkReader.read(new StringReader(WKT), new Envelope(0, 0, 12, 12),
+        (geometry, index) -> indexes.add(index));
+
+    assertEquals(5, recordCount);
+    assertEquals(List.of(0L, 1L, 4L), indexes);
+  }
+
+  @Test
+  void queryEdgesAreInclusive() throws IOException {
+    List<Long> indexes = new ArrayList<>();
+
+    bulkReader.read(new StringReader(WKT), new Envelope(-5, -20, -5, -5),
+        (geometry, index) -> indexes.add(index));
+
+    assertEquals(List.of(3L), indexes);
+  }
+
+  @Test
+  void readsLayerIndexedByEnvelope() throws IOException {
+    WKTLayer layer = bulkReader.readLayer(new StringReader(WKT));
+
+    assertEquals(5, layer.getGeometries().size());
+    assertEquals(4, layer.getIndex().size());
+    assertEquals(List.of("POLYGON ((-10.0 -10.0, -5.0 -10.0, -5.0 -5.0, -10.0 -10.0))"),
+        layer.query(new Envelope(-12, -12, -6, -6)).stream().map(writer::write).toList());
+    assertEquals(4, layer.getIndex().nearest(99, 99));
+  }
+
+  @Test
+  void readDistinctSkipsReformattedDuplicates() throws IOException {
+    List<Long> indexes = new ArrayList<>();
+    String wkt = WKT + "\npoint(4.0 6.00)\nPOINT (6 4)\n"
+        + "GEOMETRYCOLLECTION(POINT(100 100),LINESTRING(-1 5,0.50 7))";
+
+    long recordCount = bulkReader.readDistinct(new StringReader(wkt),
+        (geometry, index) -> indexes.add(index));
+
+    assertEquals(8, recordCount);
+    assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 6L), indexes);
+  }
+}
@@ -0,0 +1,94 @@
+package com.sinergise.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sinergise.geometry.Geometry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class WKTFilePublisherTest {
+
+  private static final String WKT = "POINT (4.0 6.0)\n"
+      + "LINESTRING (30.0 10.0, 10.0 30.0, 40.0 40.0)\n"
+      + "POLYGON EMPTY\n"
+      + "GEOMETRYCOLLECTION (POINT (4.0 6.0), LINESTRING (4.0 6.0, 7.0 10.0))\n";
+
+  @Test
+  void copiesGeometriesBetweenFiles() throws Exception {
+    Path source = Files.createTempFile("source", ".wkt");
+    Path target = Files.createTempFile("target", ".wkt");
+    Files.writeString(source, WKT, StandardCharsets.US_ASCII);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      WKTFilePublisher publisher = new WKTFilePublisher(source, executor, new WKTReader(), 7);
+      WKTFileSubscriber subscriber = new WKTFileSubscriber(target, new WKTWriter(), 3);
+      publisher.subscribe(subscriber);
+      subscriber.getCompletion().get(10, TimeUnit.SECONDS);
+
+      assertEquals(WKT, Files.readString(target, StandardCharsets.US_ASCII));
+    } finally {
+      executor.shutdown();
+      Files.delete(source);
+      Files.delete(target);
+    }
+  }
+
+  @Test
+  void publishesOnlyRequestedGeometries() throws Exception {
+    Path source = Files.createTempFile("source", ".wkt");
+    Files.writeString(source, WKT, StandardCharsets.US_ASCII);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+
+    try {
+      new WKTFilePublisher(source, executor).subscribe(new Flow.Subscriber<>() {
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+          signals.add(subscription);
+        }
+
+        @Override
+        public void onNext(Geometry geometry) {
+          signals.add(geometry);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+          signals.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+          signals.add("complete");
+        }
+      });
+
+      Flow.Subscription subscription = (Flow.Subscription) signals.poll(10, TimeUnit.SECONDS);
+      subscription.request(1);
+      assertTrue(signals.poll(10, TimeUnit.SECONDS) instanceof Geometry);
+      assertNull(signals.poll(200, TimeUnit.MILLISECONDS));
+
+      subscription.request(Long.MAX_VALUE);
+      for (int i = 0; i < 3; i++) {
+        assertTrue(signals.poll(10, TimeUnit.SECONDS) instanceof Geometry);
+      }
+      assertEquals("complete", signals.poll(10, TimeUnit.SECONDS));
+      assertEquals(List.of(), List.copyOf(signals));
+    } finally {
+      executor.shutdown();
+      Files.delete(source);
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package com.sinergise.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.sinergise.geometry.LineString;
+import com.sinergise.geometry.Point;
+import com.sinergise.io.WKTWriter.WKTGeometryType;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+class WKTMetricsTest {
+
+  @Test
+  void readsAndWritesAreCounted() {
+    WKTMetrics metrics = new WKTMetrics();
+    WKTReader reader = new WKTReader();
+    reader.setMetricsListener(metrics);
+    WKTWriter writer = new WKTWriter();
+    writer.setMetricsListener(metrics);
+
+    reader.read("POINT (4 -6)");
+    reader.read("LINESTRING (30 10, 10 30)");
+    writer.write(new LineString(new double[]{30, 10, 10, 30}));
+
+    assertEquals(2, metrics.getReadCount());
+    assertEquals(1, metrics.getReadCount(WKTGeometryType.POINT));
+    assertEquals(37, metrics.getReadChars());
+    assertEquals(2, metrics.getReadLatency().getCount());
+    assertEquals(1, metrics.getWriteCount(WKTGeometryType.LINESTRING));
+    assertEquals(33, metrics.getWrittenChars());
+  }
+
+  @Test
+  void streamedWritesCountWrittenChars() {
+    WKTMetrics metrics = new WKTMetrics();
+    WKTWriter writer = new WKTWriter(2);
+    writer.setMetricsListener(metrics);
+    StringWriter output = new StringWriter();
+
+    writer.write(new LineString(new double[]{30, 10, 10, 30}), output);
+    writer.write(new Point(), output);
+
+    assertEquals(output.toString().length(), metrics.getWrittenChars());
+    assertEquals(2, metrics.getWriteCount());
+  }
+
+  @Test
+  void histogramPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i);
+    }
+    histogram.record(1_000_000);
+
+    assertEquals(101, histogram.getCount());
+    assertEquals(6, histogram.getValueAtPercentile(5));
+    assertEquals(51, histogram.getValueAtPercentile(50));
+    assertEquals(1_015_807, histogram.getValueAtPercentile(100));
+  }
+}
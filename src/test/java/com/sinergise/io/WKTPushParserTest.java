@@ -0,0 +1,126 @@
+package com.sinergise.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sinergise.geometry.Geometry;
+import com.sinergise.geometry.LineString;
+import com.sinergise.geometry.Point;
+import com.sinergise.geometry.Polygon;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class WKTPushParserTest {
+
+  private final WKTPushParser parser = new WKTPushParser();
+
+  @Test
+  void geometryIsAvailableAsSoonAsItCloses() {
+    parser.feed(CharBuffer.wrap("POINT (4 6)\nLINESTRING (4 6, 7."));
+
+    Point point = (Point) parser.poll();
+    assertEquals(4d, point.getX());
+    assertNull(parser.poll());
+
+    parser.feed(CharBuffer.wrap("25 10)\n"));
+
+    LineString lineString = (LineString) parser.poll();
+    assertEquals(7.25d, lineString.getX(1));
+    assertEquals(10d, lineString.getY(1));
+  }
+
+  @Test
+  void emptyGeometryIsAvailableAfterItsKeywordEnds() {
+    parser.feed(CharBuffer.wrap("POINT EMPTY"));
+    assertNull(parser.poll());
+
+    parser.finish();
+    assertTrue(parser.poll().isEmpty());
+
+    WKTPushParser delimited = new WKTPushParser();
+    delimited.feed(CharBuffer.wrap("POINT EMPTY\n"));
+    assertTrue(delimited.poll().isEmpty());
+  }
+
+  @Test
+  void bytesFedOneAtATime() {
+    byte[] wkt = ("POLYGON ((0.5 0.5,5 0,5 5,0.5 0.5), (1.5 1,4 3,4 1,1.5 1))\n"
+        + "POINT EMPTY MULTIPOINT ((1 2))").getBytes(StandardCharsets.US_ASCII);
+
+    for (byte character : wkt) {
+      parser.feed(ByteBuffer.wrap(new byte[]{character}));
+    }
+    parser.finish();
+
+    Polygon polygon = (Polygon) parser.poll();
+    assertEquals(1.5d, polygon.getHole(0).getX(0));
+    assertTrue(parser.poll().isEmpty());
+    Geometry multiPoint = parser.poll();
+    assertEquals("MULTIPOINT ((1.0 2.0))", new WKTWriter().write(multiPoint));
+    assertEquals(0, parser.available());
+  }
+
+  @Test
+  void nestedGeometriesSplitAcrossChunks() {
+    String wkt = "GEOMETRYCOLLECTION (POINT Z (1 2 3),"
+        + " MULTIPOLYGON (((0 0, 5 0, 5 5, 0 0)), EMPTY), LINESTRING (4 6, 7 10))"
+        + " MULTIPOINT ((1 2), EMPTY) POLYGON M EMPTY";
+    for (int i = 0; i < wkt.length(); i += 3) {
+      parser.feed(CharBuffer.wrap(wkt, i, Math.min(wkt.length(), i + 3)));
+    }
+    parser.finish();
+
+    WKTWriter writer = new WKTWriter(0);
+    assertEquals("GEOMETRYCOLLECTION (POINT Z (1 2 3),"
+        + " MULTIPOLYGON (((0 0, 5 0, 5 5, 0 0)), EMPTY), LINESTRING (4 6, 7 10))",
+        writer.write(parser.poll()));
+    assertEquals("MULTIPOINT ((1 2), EMPTY)", writer.write(parser.poll()));
+    assertEquals("POLYGON EMPTY", writer.write(parser.poll()));
+    assertNull(parser.poll());
+  }
+
+  @Test
+  void readerSettingsAndInputLengths() {
+    WKTReader reader = new WKTReader();
+    reader.setPrecisionModel(new PrecisionModel(1));
+    reader.setForce2D(true);
+    WKTMetrics metrics = new WKTMetrics();
+    reader.setMetricsListener(metrics);
+    WKTPushParser snappingParser = new WKTPushParser(reader);
+
+    snappingParser.feed(CharBuffer.wrap("POINT Z (1.4 2.6 3)\n"));
+    snappingParser.feed(CharBuffer.wrap("LINESTRING (0 0, 1 1)\nPOINT (1"));
+    snappingParser.feed(CharBuffer.wrap(" 2)"));
+
+    assertEquals("POINT (1.0 3.0)", new WKTWriter().write(snappingParser.poll()));
+    assertEquals(3, metrics.getReadCount());
+    assertEquals(19 + 21 + 11, metrics.getReadChars());
+  }
+
+  @Test
+  void invalidGeometries() {
+    assertThrows(WKTParseException.class, () -> parser.feed(CharBuffer.wrap("POINT (1 2, 3 4)")));
+    assertThrows(WKTParseException.class,
+        () -> new WKTPushParser().feed(CharBuffer.wrap("LINESTRING (1 2, 3 4 5)")));
+    assertThrows(WKTParseException.class,
+        () -> new WKTPushParser().feed(CharBuffer.wrap("(1 2)")));
+  }
+
+  @Test
+  void inputEndingInsideGeometry() {
+    parser.feed(CharBuffer.wrap("LINESTRING (4 6, 7 10"));
+
+    assertThrows(WKTParseException.class, parser::finish);
+  }
+
+  @Test
+  void numberSplitAtEndOfInput() {
+    parser.feed(CharBuffer.wrap("POINT (4 6) POINT (4."));
+
+    assertThrows(TokenizationException.class, parser::finish);
+  }
+}
@@ -1,6 +1,9 @@
 package com.sinergise.io;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.sinergise.geometry.Geometry;
@@ -269,4 +272,147 @@ class WKTReaderTest {
     assertEquals(7, lineString.getX(1));
     assertEquals(10, lineString.getY(1));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testPrecisionModel() {
+    WKTReader snappingReader = new WKTReader();
+    snappingReader.setPrecisionModel(new PrecisionModel(2, 0.25, 0));
+
+    Point point = (Point) snappingReader.read("POINT (1.2 3.3)");
+
+    assertEquals(1.25d, point.getX());
+    assertEquals(3.5d, point.getY());
+  }
+
+  @Test
+  public void testRemoveRepeatedPointsRejectsCollapsedRing() {
+    WKTReader snappingReader = new WKTReader();
+    snappingReader.setPrecisionModel(new PrecisionModel(1));
+    snappingReader.setRemoveRepeatedPoints(true);
+
+    assertThrows(WKTParseException.class, () -> snappingReader.read(
+        "POLYGON ((0.1 0.1, 0.4 0.1, 0.4 0.4, 0.1 0.1))"));
+    assertThrows(WKTParseException.class, () -> snappingReader.read(
+        "POLYGON ((0 0, 10 0, 10 10, 0 0), (1.1 1.1, 1.2 1.1, 1.2 1.4, 1.1 1.1))"));
+    assertThrows(WKTParseException.class, () -> snappingReader.read(
+        "LINESTRING (0.1 0.1, 0.2 0.2)"));
+    assertEquals(4, ((Polygon) snappingReader.read(
+        "POLYGON ((0.1 0.1, 2.2 0.1, 2.2 2.4, 0.1 0.1))")).getOuter().getNumCoords());
+  }
+
+  @Test
+  public void testRemoveRepeatedPointsAfterSnapping() {
+    WKTReader snappingReader = new WKTReader();
+    snappingReader.setPrecisionModel(new PrecisionModel(1));
+    snappingReader.setRemoveRepeatedPoints(true);
+
+    LineString lineString = (LineString) snappingReader.read(
+        "LINESTRING (0.1 0.1, 0.2 -0.2, 1.1 0.9, 0.9 1.2, 0.1 0.1)");
+
+    assertEquals(3, lineString.getNumCoords());
+    assertEquals(0d, lineString.getX(0));
+    assertEquals(1d, lineString.getX(1));
+    assertEquals(1d, lineString.getY(1));
+    assertEquals(0d, lineString.getY(2));
+  }
+
+  @Test
+  public void testMultilineWhitespace() {
+    String WKT = "LINESTRING\n(30 10,\r\n\t10  30)";
+    Geometry geometry = reader.read(WKT);
+
+    LineString lineString = (LineString) geometry;
+    assertEquals(2, lineString.getNumCoords());
+    assertEquals(30.0d, lineString.getY(1));
+  }
+
+  @Test
+  public void testLineStringZ() {
+    LineStringZM lineString = (LineStringZM) reader.read("LINESTRING Z (30 10 1, 10 30 2.5)");
+
+    assertEquals(Dimension.XYZ, lineString.getDimension());
+    assertEquals(2, lineString.getNumCoords());
+    assertEquals(10d, lineString.getX(1));
+    assertEquals(2.5d, lineString.getZ(1));
+    assertTrue(Double.isNaN(lineString.getM(1)));
+  }
+
+  @Test
+  public void testPointM() {
+    PointZM point = (PointZM) reader.read("POINT M (1 2 7)");
+
+    assertEquals(Dimension.XYM, point.getDimension());
+    assertTrue(Double.isNaN(point.getZ()));
+    assertEquals(7d, point.getM());
+  }
+
+  @Test
+  public void testUndeclaredDimensionIsInferred() {
+    MultiLineString multiLineString = (MultiLineString) reader.read(
+        "MULTILINESTRING ((1 2 3 4, 5 6 7 8), (9 10 11 12))");
+
+    LineStringZM lineString = (LineStringZM) multiLineString.get(1);
+    assertEquals(Dimension.XYZM, lineString.getDimension());
+    assertEquals(11d, lineString.getZ(0));
+    assertEquals(12d, lineString.getM(0));
+  }
+
+  @Test
+  public void testOrdinateCountMismatch() {
+    assertThrows(WKTParseException.class, () -> reader.read("LINESTRING Z (1 2 3, 4 5)"));
+    assertThrows(WKTParseException.class, () -> reader.read("POINT (1 2 3 4 5)"));
+  }
+
+  @Test
+  public void testForce2D() {
+    WKTReader reader2D = new WKTReader();
+    reader2D.setForce2D(true);
+
+    Geometry geometry = reader2D.read("POLYGON ZM ((0 0 1 2, 1 0 1 2, 1 1 1 2, 0 0 1 2))");
+
+    LineString outer = ((Polygon) geometry).getOuter();
+    assertFalse(outer instanceof LineStringZM);
+    assertEquals(4, outer.getNumCoords());
+    assertEquals(1d, outer.getY(2));
+  }
+
+  @Test
+  public void testCoordinateTransformBeforePrecisionModel() {
+    WKTReader transformingReader = new WKTReader();
+    transformingReader.setCoordinateTransform(WKTReaderTest::shiftAndScale);
+    transformingReader.setPrecisionModel(new PrecisionModel(1));
+
+    LineStringZM lineString = (LineStringZM) transformingReader.read(
+        "LINESTRING Z (1.2 2 5, 3 4.1 6)");
+    Point point = (Point) transformingReader.read("POINT (0 0)");
+
+    assertEquals(11d, lineString.getX(0));
+    assertEquals(-41d, lineString.getY(1));
+    assertEquals(6d, lineString.getZ(1));
+    assertEquals(10d, point.getX());
+    assertEquals(0d, point.getY());
+  }
+
+  /**
+   * Maps (x, y) to (x + 10, -10 * y).
+   */
+  private static void shiftAndScale(double[] coordinates, int offset, int stride, int count) {
+    for (int i = offset; i < offset + count * stride; i += stride) {
+      coordinates[i] += 10;
+      coordinates[i + 1] *= -10;
+    }
+  }
+
+  @Test
+  public void testFingerprintIgnoresFormatting() {
+    GeometryFingerprint fingerprint = reader.readFingerprinted(
+        "MULTIPOINT ((10 20), (-0 1.5))").fingerprint();
+
+    assertEquals(fingerprint, reader.readFingerprinted(
+        "multipoint((10.0   20.00),\n(0 1.50))").fingerprint());
+    assertNotEquals(fingerprint, reader.readFingerprinted(
+        "MULTIPOINT ((20 10), (0 1.5))").fingerprint());
+    assertNotEquals(fingerprint, reader.readFingerprinted(
+        "MULTIPOINT Z ((10 20 0), (0 1.5 0))").fingerprint());
+  }
+}
@@ -10,6 +10,7 @@ import com.sinergise.geometry.MultiPoint;
 import com.sinergise.geometry.MultiPolygon;
 import com.sinergise.geometry.Point;
 import com.sinergise.geometry.Polygon;
+import java.io.StringWriter;
 import org.junit.jupiter.api.Test;
 
 class WKTWriterTest {
@@ -25,6 +26,21 @@ class WKTWriterTest {
     assertEquals("LINESTRING (30.0 10.0, 10.0 30.0, 40.0 40.0)", wkt);
   }
 
+  @Test
+  void fullPrecision() {
+    WKTWriter fullPrecisionWriter = new WKTWriter(WKTWriter.FULL_PRECISION);
+    Geometry lineString = new LineString(new double[]{4.123456, 0.1 + 0.2, -1e-7, 1e21});
+
+    String wkt = fullPrecisionWriter.write(lineString);
+
+    assertEquals("LINESTRING (4.123456 0.30000000000000004, -0.0000001 1000000000000000000000)",
+        wkt);
+    assertEquals(wkt.length(), fullPrecisionWriter.length(lineString));
+    StringWriter output = new StringWriter();
+    fullPrecisionWriter.write(lineString, output);
+    assertEquals(wkt, output.toString());
+  }
+
   @Test
   void invalidMissingYCoordinateLineStringTest() {
     LineString lineString = new LineString(new double[]{30});
@@ -168,4 +184,177 @@ class WKTWriterTest {
     assertEquals("GEOMETRYCOLLECTION (POINT (4.0 6.0), LINESTRING (4.0 6.0, 7.0 10.0))", wkt);
   }
 
-}
\ No newline at end of file
+  @Test
+  void customPrecision() {
+    Point point = new Point(1.23456, -5);
+
+    String wkt = new WKTWriter(3).write(point);
+
+    assertEquals("POINT (1.235 -5.000)", wkt);
+  }
+
+  @Test
+  void writerIsReusable() {
+    writer.write(new Point(1, 5));
+
+    String wkt = writer.write(new Point(2, 6));
+
+    assertEquals("POINT (2.0 6.0)", wkt);
+  }
+
+  @Test
+  void geometryCollectionSubclassTest() {
+    GeometryCollection<Geometry> geometries = new GeometryCollection<>(
+        new Geometry[]{
+            new Point(4, 6),
+            new MultiPoint(new Point[]{new Point(1, 2)})
+        }) {
+    };
+
+    String wkt = writer.write(geometries);
+
+    assertEquals("GEOMETRYCOLLECTION (POINT (4.0 6.0), MULTIPOINT ((1.0 2.0)))", wkt);
+  }
+
+  @Test
+  void polygonWithoutHoles() {
+    Polygon polygon = new Polygon(new LineString(new double[]{0, 0, 1, 0, 1, 1, 0, 0}),
+        new LineString[]{});
+
+    String wkt = writer.write(polygon);
+
+    assertEquals("POLYGON ((0.0 0.0, 1.0 0.0, 1.0 1.0, 0.0 0.0))", wkt);
+  }
+
+  @Test
+  void lengthMatchesWrittenWKT() {
+    Geometry[] geometries = {
+        new Point(-0.04, 1e20),
+        new Point(),
+        new LineString(new double[]{30.25, -10, 10.75, 30, 40, 40}),
+        new Polygon(new LineString(new double[]{35, 10, 45, 45, 15, 40, 35, 10}),
+            new LineString[]{new LineString(new double[]{20, 30, 35, 35, 30, 20, 20, 30})}),
+        new MultiPoint(new Point[]{new Point(5, 10), new Point()}),
+        new GeometryCollection<>(new Geometry[]{new Point(4, 6), new MultiPolygon()})
+    };
+
+    for (int precision = 0; precision < 4; precision++) {
+      WKTWriter precisionWriter = new WKTWriter(precision);
+      for (Geometry geometry : geometries) {
+        assertEquals(precisionWriter.write(geometry).length(), precisionWriter.length(geometry));
+      }
+    }
+  }
+
+  @Test
+  void writesZAndMOrdinates() {
+    Geometry polygon = new Polygon(new LineStringZM(Dimension.XYZM,
+        new double[]{0, 0, 1, 0, 1, 1, 0, 0}, new double[]{5, 1, 5, 2, 5, 3, 5, 4}),
+        new LineString[0]);
+    Geometry multiPoint = new MultiPoint(new Point[]{
+        new PointZM(Dimension.XYZ, 1, 2, 3, Double.NaN), new PointZM(Dimension.XYZM, 4, 5, 6, 7)});
+
+    assertEquals("POLYGON ZM ((0.0 0.0 5.0 1.0, 1.0 0.0 5.0 2.0, 1.0 1.0 5.0 3.0, "
+        + "0.0 0.0 5.0 4.0))", writer.write(polygon));
+    assertEquals("MULTIPOINT Z ((1.0 2.0 3.0), (4.0 5.0 6.0))", writer.write(multiPoint));
+    assertEquals("POINT M EMPTY", writer.write(new PointZM(Dimension.XYM)));
+    assertEquals(writer.write(multiPoint).length(), writer.length(multiPoint));
+  }
+
+  @Test
+  void emptyHoleKeepsPolygonDimension() {
+    Geometry polygon = new Polygon(new LineStringZM(Dimension.XYZ,
+        new double[]{0, 0, 1, 0, 1, 1, 0, 0}, new double[]{5, 6, 7, 5}),
+        new LineString[]{new LineString()});
+    String wkt = "POLYGON Z ((0.0 0.0 5.0, 1.0 0.0 6.0, 1.0 1.0 7.0, 0.0 0.0 5.0), EMPTY)";
+
+    assertEquals(wkt, writer.write(polygon));
+    assertEquals(wkt, writer.write(new WKTReader().read(wkt)));
+    assertEquals(wkt, writer.write(new WKBReader().read(new WKBWriter().write(polygon))));
+  }
+
+  @Test
+  void readAndWriteRoundTripKeepsDimension() {
+    String wkt = "GEOMETRYCOLLECTION Z (LINESTRING Z (1.0 2.0 3.0, 4.0 5.0 6.0), "
+        + "POINT Z (1.0 1.0 1.0))";
+
+    assertEquals(wkt, writer.write(new WKTReader().read(wkt)));
+  }
+
+  @Test
+  void douglasPeuckerSimplification() {
+    WKTWriter simplifyingWriter = new WKTWriter();
+    simplifyingWriter.setSimplification(LineSimplification.DOUGLAS_PEUCKER, 0.5);
+    Geometry lineString = new LineString(new double[]{0, 0, 1, 0.1, 2, -0.1, 3, 5, 4, 6, 5, 7});
+
+    assertEquals("LINESTRING (0.0 0.0, 2.0 -0.1, 3.0 5.0, 5.0 7.0)",
+        simplifyingWriter.write(lineString));
+    assertEquals(simplifyingWriter.write(lineString).length(),
+        simplifyingWriter.length(lineString));
+  }
+
+  @Test
+  void visvalingamWhyattSimplification() {
+    WKTWriter simplifyingWriter = new WKTWriter();
+    simplifyingWriter.setSimplification(LineSimplification.VISVALINGAM_WHYATT, 1);
+    Geometry lineString = new LineString(new double[]{0, 0, 1, 0.1, 2, -0.1, 3, 5, 4, 6, 5, 7});
+
+    assertEquals("LINESTRING (0.0 0.0, 2.0 -0.1, 3.0 5.0, 5.0 7.0)",
+        simplifyingWriter.write(lineString));
+  }
+
+  @Test
+  void simplifiedRingsStayClosedAndValid() {
+    Geometry polygon = new Polygon(
+        new LineString(new double[]{0, 0, 0.1, 0.01, 0.2, 0, 0.1, 0.1, 0.05, 0.05, 0, 0}),
+        new LineString[0]);
+
+    for (LineSimplification simplification : LineSimplification.values()) {
+      WKTWriter simplifyingWriter = new WKTWriter(2);
+      simplifyingWriter.setSimplification(simplification, 10);
+
+      assertEquals("POLYGON ((0.00 0.00, 0.20 0.00, 0.10 0.10, 0.00 0.00))",
+          simplifyingWriter.write(polygon));
+    }
+  }
+
+  @Test
+  void coordinateTransformIsAppliedWhileWriting() {
+    WKTWriter transformingWriter = new WKTWriter(0);
+    transformingWriter.setCoordinateTransform((coordinates, offset, stride, count) -> {
+      for (int i = offset; i < offset + count * stride; i += stride) {
+        coordinates[i] *= 2;
+      }
+    });
+    double[] coordinates = new double[2 * 1000];
+    for (int i = 0; i < coordinates.length; i++) {
+      coordinates[i] = i;
+    }
+    LineString lineString = new LineString(coordinates);
+
+    String wkt = transformingWriter.write(lineString);
+
+    assertEquals("POINT Z (4 2 3)",
+        transformingWriter.write(new PointZM(Dimension.XYZ, 2, 2, 3, Double.NaN)));
+    assertEquals("LINESTRING (0 1, 4 3, ", wkt.substring(0, 22));
+    assertEquals(", 3996 1999)", wkt.substring(wkt.length() - 12));
+    assertEquals(wkt.length(), transformingWriter.length(lineString));
+    assertEquals(2d, lineString.getX(1));
+  }
+
+  @Test
+  void coordinateTransformRunsOncePerVertex() {
+    long[] transformedVertices = new long[1];
+    WKTWriter transformingWriter = new WKTWriter();
+    transformingWriter.setCoordinateTransform(
+        (coordinates, offset, stride, count) -> transformedVertices[0] += count);
+    transformingWriter.setMetricsListener(new WKTMetrics());
+    LineString lineString = new LineString(new double[2 * 1000]);
+
+    transformingWriter.write(lineString);
+    assertEquals(1000, transformedVertices[0]);
+
+    transformingWriter.write(lineString, new StringWriter());
+    assertEquals(2000, transformedVertices[0]);
+  }
+}